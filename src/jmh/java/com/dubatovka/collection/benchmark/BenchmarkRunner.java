@@ -0,0 +1,20 @@
+package com.dubatovka.collection.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of benchmarks.jar. Runs JMH with the GC and allocation
+ * profiler enabled; any other JMH command line options are passed through.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = Arrays.copyOf(new String[]{"-prof", "gc"}, args.length + 2);
+        System.arraycopy(args, 0, jmhArgs, 2, args.length);
+        Main.main(jmhArgs);
+    }
+}
@@ -0,0 +1,107 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.BinaryTreeCustom;
+import com.dubatovka.collection.ConcurrentSkipListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed reads and writes on a shared sorted map. {@code readPercent} of the
+ * operations are lookups; the rest alternate between adding and removing a
+ * random key, so the size stays near its initial value.
+ * {@link ConcurrentMapScalingRunner} runs it with 1 to 64 threads to chart
+ * throughput against thread count for {@link ConcurrentSkipListCustom}, a
+ * {@link BinaryTreeCustom} behind one monitor, and
+ * {@link ConcurrentSkipListMap}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentMapMixBenchmark {
+    private static final int KEY_RANGE = 1 << 17;
+    
+    @Param({"90", "50"})
+    private int readPercent;
+    
+    private ConcurrentSkipListCustom<Integer, Integer> concurrentSkipListCustom;
+    private BinaryTreeCustom<Integer, Integer> synchronizedBinaryTreeCustom;
+    private ConcurrentSkipListMap<Integer, Integer> javaConcurrentSkipListMap;
+    
+    @Setup
+    public void setUp() {
+        concurrentSkipListCustom = new ConcurrentSkipListCustom<>();
+        synchronizedBinaryTreeCustom = new BinaryTreeCustom<>();
+        javaConcurrentSkipListMap = new ConcurrentSkipListMap<>();
+        for (int key = 0; key < KEY_RANGE; key += 2) {
+            concurrentSkipListCustom.add(key, key);
+            synchronizedBinaryTreeCustom.add(key, key);
+            javaConcurrentSkipListMap.put(key, key);
+        }
+    }
+    
+    @Benchmark
+    public Integer concurrentSkipListCustom() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(KEY_RANGE);
+        int action = random.nextInt(100);
+        if (action < readPercent) {
+            return concurrentSkipListCustom.get(key);
+        }
+        if ((action & 1) == 0) {
+            concurrentSkipListCustom.add(key, key);
+        } else {
+            concurrentSkipListCustom.remove(key);
+        }
+        return key;
+    }
+    
+    @Benchmark
+    public Integer synchronizedBinaryTreeCustom() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(KEY_RANGE);
+        int action = random.nextInt(100);
+        synchronized (synchronizedBinaryTreeCustom) {
+            if (action < readPercent) {
+                return synchronizedBinaryTreeCustom.get(key);
+            }
+            if ((action & 1) == 0) {
+                synchronizedBinaryTreeCustom.add(key, key);
+            } else {
+                synchronizedBinaryTreeCustom.remove(key);
+            }
+        }
+        return key;
+    }
+    
+    @Benchmark
+    public Integer javaConcurrentSkipListMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(KEY_RANGE);
+        int action = random.nextInt(100);
+        if (action < readPercent) {
+            return javaConcurrentSkipListMap.get(key);
+        }
+        if ((action & 1) == 0) {
+            javaConcurrentSkipListMap.put(key, key);
+        } else {
+            javaConcurrentSkipListMap.remove(key);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dubatovka.collection.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs {@link ConcurrentMapMixBenchmark} with 1, 2, 4, ... up to 64 threads
+ * and prints one row per map and read mix with the throughput in ops/us at
+ * each thread count, ready to be charted. An optional argument lowers the
+ * maximum thread count.
+ * <pre>
+ *     java -cp target/benchmarks.jar com.dubatovka.collection.benchmark.ConcurrentMapScalingRunner [maxThreads]
+ * </pre>
+ */
+public final class ConcurrentMapScalingRunner {
+    private static final int MAX_THREADS = 64;
+    
+    private ConcurrentMapScalingRunner() {
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : MAX_THREADS;
+        Map<String, Map<Integer, Double>> scores = new TreeMap<>();
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentMapMixBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                String benchmark = result.getParams().getBenchmark();
+                String row = benchmark.substring(benchmark.lastIndexOf('.') + 1)
+                        + " read=" + result.getParams().getParam("readPercent") + "%";
+                scores.computeIfAbsent(row, k -> new TreeMap<>())
+                        .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+        
+        StringBuilder header = new StringBuilder("benchmark");
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            header.append(',').append(threads);
+        }
+        System.out.println(header);
+        for (Map.Entry<String, Map<Integer, Double>> row : scores.entrySet()) {
+            StringBuilder line = new StringBuilder(row.getKey());
+            for (double score : row.getValue().values()) {
+                line.append(',').append(String.format("%.3f", score));
+            }
+            System.out.println(line);
+        }
+    }
+}
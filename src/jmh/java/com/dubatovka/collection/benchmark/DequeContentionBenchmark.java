@@ -0,0 +1,47 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.ConcurrentLinkedListCustom;
+import com.dubatovka.collection.LinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer/consumer churn on a shared deque: every operation adds at one
+ * end and polls the other. Run with {@code -t 1}, {@code -t 2}, ...
+ * {@code -t N} to compare scaling of the lock-free list against
+ * {@link LinkedListCustom} guarded by a monitor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DequeContentionBenchmark {
+    private final ConcurrentLinkedListCustom<Integer> concurrentList = new ConcurrentLinkedListCustom<>();
+    private final LinkedListCustom<Integer> synchronizedList = new LinkedListCustom<>();
+    private final Integer element = 42;
+    
+    @Benchmark
+    public Integer concurrentLinkedListCustom() {
+        concurrentList.add(element);
+        return concurrentList.pollFirst();
+    }
+    
+    @Benchmark
+    public Integer synchronizedLinkedListCustom() {
+        synchronized (synchronizedList) {
+            synchronizedList.add(element);
+            return synchronizedList.remove(0);
+        }
+    }
+}
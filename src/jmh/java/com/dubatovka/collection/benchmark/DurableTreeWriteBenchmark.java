@@ -0,0 +1,90 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.DurableBinaryTreeCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput of {@link DurableBinaryTreeCustom} under each sync policy.
+ * Run with {@code -t N} to see group commit amortize fsyncs across writers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DurableTreeWriteBenchmark {
+    private static final DurableBinaryTreeCustom.EntryCodec<Long, Long> CODEC =
+            new DurableBinaryTreeCustom.EntryCodec<Long, Long>() {
+                @Override
+                public void writeKey(DataOutput out, Long key) throws IOException {
+                    out.writeLong(key);
+                }
+                
+                @Override
+                public Long readKey(DataInput in) throws IOException {
+                    return in.readLong();
+                }
+                
+                @Override
+                public void writeValue(DataOutput out, Long value) throws IOException {
+                    out.writeLong(value);
+                }
+                
+                @Override
+                public Long readValue(DataInput in) throws IOException {
+                    return in.readLong();
+                }
+            };
+    
+    @Param({"EVERY_WRITE", "BATCH", "OS"})
+    private DurableBinaryTreeCustom.SyncPolicy syncPolicy;
+    
+    private Path directory;
+    private DurableBinaryTreeCustom<Long, Long> tree;
+    private long nextKey;
+    
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("durable-tree-bench");
+        tree = new DurableBinaryTreeCustom<>(directory, CODEC, syncPolicy);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        tree.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public void add() {
+        long key;
+        synchronized (this) {
+            key = nextKey++;
+        }
+        tree.add(key, key);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.LinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work-queue churn: enqueue at the tail and dequeue from the head while the
+ * queue holds {@code depth} elements. Compare {@code gc.alloc.rate.norm}
+ * between the plain and the node-pooling list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkedListChurnBenchmark {
+    @Param({"16", "1024"})
+    private int depth;
+    
+    private final Integer element = 42;
+    private LinkedListCustom<Integer> plainList;
+    private LinkedListCustom<Integer> pooledList;
+    
+    @Setup
+    public void setUp() {
+        plainList = new LinkedListCustom<>();
+        pooledList = new LinkedListCustom<>(64);
+        for (int i = 0; i < depth; i++) {
+            plainList.add(element);
+            pooledList.add(element);
+        }
+    }
+    
+    @Benchmark
+    public Integer plain() {
+        plainList.add(element);
+        return plainList.remove(0);
+    }
+    
+    @Benchmark
+    public Integer pooled() {
+        pooledList.add(element);
+        return pooledList.remove(0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.ArrayListCustom;
+import com.dubatovka.collection.BigArrayListCustom;
+import com.dubatovka.collection.IntArrayListCustom;
+import com.dubatovka.collection.LinkedListCustom;
+import com.dubatovka.collection.UnrolledLinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListAddBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+    
+    @Benchmark
+    public ArrayListCustom<Integer> arrayListCustom() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public IntArrayListCustom intArrayListCustom() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public BigArrayListCustom<Integer> bigArrayListCustom() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public LinkedListCustom<Integer> linkedListCustom() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public UnrolledLinkedListCustom<Integer> unrolledLinkedListCustom() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public ArrayList<Integer> javaArrayList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public LinkedList<Integer> javaLinkedList() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.ArrayListCustom;
+import com.dubatovka.collection.IntArrayListCustom;
+import com.dubatovka.collection.LinkedListCustom;
+import com.dubatovka.collection.UnrolledLinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListIndexedAccessBenchmark {
+    private static final int INDEX_COUNT = 1024;
+    
+    @Param({"1000", "100000"})
+    private int size;
+    
+    private final int[] indices = new int[INDEX_COUNT];
+    private int cursor;
+    
+    private ArrayListCustom<Integer> arrayListCustom;
+    private IntArrayListCustom intArrayListCustom;
+    private LinkedListCustom<Integer> linkedListCustom;
+    private UnrolledLinkedListCustom<Integer> unrolledLinkedListCustom;
+    private ArrayList<Integer> javaArrayList;
+    private LinkedList<Integer> javaLinkedList;
+    
+    @Setup
+    public void setUp() {
+        arrayListCustom = new ArrayListCustom<>();
+        intArrayListCustom = new IntArrayListCustom();
+        linkedListCustom = new LinkedListCustom<>();
+        unrolledLinkedListCustom = new UnrolledLinkedListCustom<>();
+        javaArrayList = new ArrayList<>();
+        javaLinkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            arrayListCustom.add(i);
+            intArrayListCustom.add(i);
+            linkedListCustom.add(i);
+            unrolledLinkedListCustom.add(i);
+            javaArrayList.add(i);
+            javaLinkedList.add(i);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            indices[i] = random.nextInt(size);
+        }
+    }
+    
+    private int nextIndex() {
+        cursor = (cursor + 1) & (INDEX_COUNT - 1);
+        return indices[cursor];
+    }
+    
+    @Benchmark
+    public Integer arrayListCustom() {
+        int index = nextIndex();
+        Integer value = arrayListCustom.get(index);
+        arrayListCustom.set(index, value);
+        return value;
+    }
+    
+    @Benchmark
+    public int intArrayListCustom() {
+        int index = nextIndex();
+        int value = intArrayListCustom.get(index);
+        intArrayListCustom.set(index, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer linkedListCustom() {
+        int index = nextIndex();
+        Integer value = linkedListCustom.get(index);
+        linkedListCustom.set(index, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer unrolledLinkedListCustom() {
+        int index = nextIndex();
+        Integer value = unrolledLinkedListCustom.get(index);
+        unrolledLinkedListCustom.set(index, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer javaArrayList() {
+        int index = nextIndex();
+        Integer value = javaArrayList.get(index);
+        javaArrayList.set(index, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer javaLinkedList() {
+        int index = nextIndex();
+        Integer value = javaLinkedList.get(index);
+        javaLinkedList.set(index, value);
+        return value;
+    }
+}
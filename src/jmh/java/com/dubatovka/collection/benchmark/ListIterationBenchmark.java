@@ -0,0 +1,160 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.ArrayListCustom;
+import com.dubatovka.collection.IntArrayListCustom;
+import com.dubatovka.collection.LinkedListCustom;
+import com.dubatovka.collection.UnrolledLinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListIterationBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    
+    private ArrayListCustom<Integer> arrayListCustom;
+    private IntArrayListCustom intArrayListCustom;
+    private LinkedListCustom<Integer> linkedListCustom;
+    private UnrolledLinkedListCustom<Integer> unrolledLinkedListCustom;
+    private ArrayList<Integer> javaArrayList;
+    private LinkedList<Integer> javaLinkedList;
+    
+    @Setup
+    public void setUp() {
+        arrayListCustom = new ArrayListCustom<>();
+        intArrayListCustom = new IntArrayListCustom();
+        linkedListCustom = new LinkedListCustom<>();
+        unrolledLinkedListCustom = new UnrolledLinkedListCustom<>();
+        javaArrayList = new ArrayList<>();
+        javaLinkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            arrayListCustom.add(i);
+            intArrayListCustom.add(i);
+            linkedListCustom.add(i);
+            unrolledLinkedListCustom.add(i);
+            javaArrayList.add(i);
+            javaLinkedList.add(i);
+        }
+    }
+    
+    @Benchmark
+    public long arrayListCustom() {
+        long sum = 0;
+        for (Integer value : arrayListCustom) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long arrayListCustomStream() {
+        return arrayListCustom.stream().mapToLong(Integer::longValue).sum();
+    }
+    
+    @Benchmark
+    public long arrayListCustomParallelStream() {
+        return arrayListCustom.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+    
+    @Benchmark
+    public long arrayListCustomStreamFilter() {
+        return arrayListCustom.stream().filter(i -> (i % 3) == 0).count();
+    }
+    
+    @Benchmark
+    public long arrayListCustomParallelStreamFilter() {
+        return arrayListCustom.parallelStream().filter(i -> (i % 3) == 0).count();
+    }
+    
+    @Benchmark
+    public List<Integer> arrayListCustomStreamMap() {
+        return arrayListCustom.stream().map(i -> i * 2).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public List<Integer> arrayListCustomParallelStreamMap() {
+        return arrayListCustom.parallelStream().map(i -> i * 2).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public long javaArrayListStream() {
+        return javaArrayList.stream().mapToLong(Integer::longValue).sum();
+    }
+    
+    @Benchmark
+    public long javaArrayListStreamFilter() {
+        return javaArrayList.stream().filter(i -> (i % 3) == 0).count();
+    }
+    
+    @Benchmark
+    public List<Integer> javaArrayListStreamMap() {
+        return javaArrayList.stream().map(i -> i * 2).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public long intArrayListCustom() {
+        long sum = 0;
+        PrimitiveIterator.OfInt iterator = intArrayListCustom.iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long linkedListCustom() {
+        long sum = 0;
+        for (Integer value : linkedListCustom) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long unrolledLinkedListCustom() {
+        long sum = 0;
+        for (Integer value : unrolledLinkedListCustom) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long javaArrayList() {
+        long sum = 0;
+        for (Integer value : javaArrayList) {
+            sum += value;
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long javaLinkedList() {
+        long sum = 0;
+        for (Integer value : javaLinkedList) {
+            sum += value;
+        }
+        return sum;
+    }
+}
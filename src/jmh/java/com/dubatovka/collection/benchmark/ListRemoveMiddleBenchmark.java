@@ -0,0 +1,97 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.ArrayListCustom;
+import com.dubatovka.collection.LinkedListCustom;
+import com.dubatovka.collection.UnrolledLinkedListCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes the middle element and inserts it back, so the size stays
+ * constant across invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListRemoveMiddleBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+    
+    private ArrayListCustom<Integer> arrayListCustom;
+    private LinkedListCustom<Integer> linkedListCustom;
+    private UnrolledLinkedListCustom<Integer> unrolledLinkedListCustom;
+    private ArrayList<Integer> javaArrayList;
+    private LinkedList<Integer> javaLinkedList;
+    
+    @Setup
+    public void setUp() {
+        arrayListCustom = new ArrayListCustom<>();
+        linkedListCustom = new LinkedListCustom<>();
+        unrolledLinkedListCustom = new UnrolledLinkedListCustom<>();
+        javaArrayList = new ArrayList<>();
+        javaLinkedList = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            arrayListCustom.add(i);
+            linkedListCustom.add(i);
+            unrolledLinkedListCustom.add(i);
+            javaArrayList.add(i);
+            javaLinkedList.add(i);
+        }
+    }
+    
+    @Benchmark
+    public Integer arrayListCustom() {
+        int middle = size >> 1;
+        Integer value = arrayListCustom.remove(middle);
+        arrayListCustom.add(middle, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer linkedListCustom() {
+        int middle = size >> 1;
+        Integer value = linkedListCustom.remove(middle);
+        linkedListCustom.add(middle, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer unrolledLinkedListCustom() {
+        int middle = size >> 1;
+        Integer value = unrolledLinkedListCustom.remove(middle);
+        unrolledLinkedListCustom.add(middle, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer javaArrayList() {
+        int middle = size >> 1;
+        Integer value = javaArrayList.remove(middle);
+        javaArrayList.add(middle, value);
+        return value;
+    }
+    
+    @Benchmark
+    public Integer javaLinkedList() {
+        int middle = size >> 1;
+        Integer value = javaLinkedList.remove(middle);
+        javaLinkedList.add(middle, value);
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.BinaryTreeCustom;
+import com.dubatovka.collection.HashMapCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups of random existing keys in {@link HashMapCustom},
+ * {@link BinaryTreeCustom} and {@link HashMap} holding the same keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapLookupBenchmark {
+    private static final int LOOKUP_COUNT = 1024;
+    
+    @Param({"1000", "1000000"})
+    private int size;
+    
+    private final Long[] lookups = new Long[LOOKUP_COUNT];
+    private int cursor;
+    
+    private HashMapCustom<Long, Long> hashMapCustom;
+    private BinaryTreeCustom<Long, Long> binaryTreeCustom;
+    private HashMap<Long, Long> javaHashMap;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        hashMapCustom = new HashMapCustom<>();
+        binaryTreeCustom = new BinaryTreeCustom<>();
+        javaHashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Long key = random.nextLong();
+            hashMapCustom.add(key, key);
+            binaryTreeCustom.add(key, key);
+            javaHashMap.put(key, key);
+            if (i < LOOKUP_COUNT) {
+                lookups[i] = key;
+            }
+        }
+        for (int i = size; i < LOOKUP_COUNT; i++) {
+            lookups[i] = lookups[i % size];
+        }
+    }
+    
+    private Long nextKey() {
+        cursor = (cursor + 1) & (LOOKUP_COUNT - 1);
+        return lookups[cursor];
+    }
+    
+    @Benchmark
+    public Long hashMapCustom() {
+        return hashMapCustom.get(nextKey());
+    }
+    
+    @Benchmark
+    public Long binaryTreeCustom() {
+        return binaryTreeCustom.get(nextKey());
+    }
+    
+    @Benchmark
+    public Long javaHashMap() {
+        return javaHashMap.get(nextKey());
+    }
+}
@@ -0,0 +1,81 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.BinaryTreeCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums all values of a large tree sequentially and in parallel. The
+ * {@code parallelism} parameter sizes the fork-join pool used by
+ * {@code parallelReduce} and by the parallel stream, to show scaling with
+ * core count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TreeAggregateBenchmark {
+    @Param({"1000000", "4000000"})
+    private int size;
+    
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+    
+    private BinaryTreeCustom<Long, Long> tree;
+    private ForkJoinPool pool;
+    
+    @Setup
+    public void setUp() {
+        Long[] keys = new Long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) i;
+        }
+        tree = BinaryTreeCustom.fromSorted(keys, keys, null);
+        pool = new ForkJoinPool(parallelism);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public long iterator() {
+        long sum = 0;
+        for (BinaryTreeCustom.Node<Long, Long> node : tree) {
+            sum += node.getValue();
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    public long stream() {
+        return tree.stream().mapToLong(BinaryTreeCustom.Node::getValue).sum();
+    }
+    
+    @Benchmark
+    public long parallelStream() {
+        return pool.submit(() -> tree.parallelStream().mapToLong(BinaryTreeCustom.Node::getValue).sum()).join();
+    }
+    
+    @Benchmark
+    public long parallelReduce() {
+        return tree.parallelReduce(pool, 0L, (sum, node) -> sum + node.getValue(), Long::sum);
+    }
+}
@@ -0,0 +1,154 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.BPlusTreeCustom;
+import com.dubatovka.collection.BinaryTreeCustom;
+import com.dubatovka.collection.LongTreeMapCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up random existing keys in trees filled with sequential, reverse or
+ * shuffled keys, and measures building each tree from those keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeLookupBenchmark {
+    private static final int LOOKUP_COUNT = 1024;
+    
+    @Param({"1000", "1000000"})
+    private int size;
+    
+    @Param({"SEQUENTIAL", "REVERSE", "RANDOM"})
+    private String keyOrder;
+    
+    private final Long[] lookups = new Long[LOOKUP_COUNT];
+    private final long[] primitiveLookups = new long[LOOKUP_COUNT];
+    private int cursor;
+    private long[] keys;
+    private Long[] boxedKeys;
+    
+    private BinaryTreeCustom<Long, Long> binaryTreeCustom;
+    private BPlusTreeCustom<Long, Long> bPlusTreeCustom;
+    private TreeMap<Long, Long> javaTreeMap;
+    private LongTreeMapCustom<Long> longTreeMapCustom;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "REVERSE".equals(keyOrder) ? (size - 1 - i) : i;
+        }
+        if ("RANDOM".equals(keyOrder)) {
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                long t = keys[i];
+                keys[i] = keys[j];
+                keys[j] = t;
+            }
+        }
+        
+        boxedKeys = new Long[size];
+        for (int i = 0; i < size; i++) {
+            boxedKeys[i] = keys[i];
+        }
+        
+        binaryTreeCustom = new BinaryTreeCustom<>();
+        bPlusTreeCustom = new BPlusTreeCustom<>();
+        javaTreeMap = new TreeMap<>();
+        longTreeMapCustom = new LongTreeMapCustom<>();
+        for (Long key : boxedKeys) {
+            binaryTreeCustom.add(key, key);
+            bPlusTreeCustom.add(key, key);
+            javaTreeMap.put(key, key);
+            longTreeMapCustom.add(key, key);
+        }
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookups[i] = (long) random.nextInt(size);
+            primitiveLookups[i] = lookups[i];
+        }
+    }
+    
+    private Long nextKey() {
+        cursor = (cursor + 1) & (LOOKUP_COUNT - 1);
+        return lookups[cursor];
+    }
+    
+    @Benchmark
+    public Long binaryTreeCustom() {
+        return binaryTreeCustom.get(nextKey());
+    }
+    
+    @Benchmark
+    public Long bPlusTreeCustom() {
+        return bPlusTreeCustom.get(nextKey());
+    }
+    
+    @Benchmark
+    public Long javaTreeMap() {
+        return javaTreeMap.get(nextKey());
+    }
+    
+    @Benchmark
+    public Long longTreeMapCustom() {
+        cursor = (cursor + 1) & (LOOKUP_COUNT - 1);
+        return longTreeMapCustom.get(primitiveLookups[cursor]);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BinaryTreeCustom<Long, Long> binaryTreeCustomInsert() {
+        BinaryTreeCustom<Long, Long> tree = new BinaryTreeCustom<>();
+        for (Long key : boxedKeys) {
+            tree.add(key, key);
+        }
+        return tree;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BPlusTreeCustom<Long, Long> bPlusTreeCustomInsert() {
+        BPlusTreeCustom<Long, Long> tree = new BPlusTreeCustom<>();
+        for (Long key : boxedKeys) {
+            tree.add(key, key);
+        }
+        return tree;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TreeMap<Long, Long> javaTreeMapInsert() {
+        TreeMap<Long, Long> tree = new TreeMap<>();
+        for (Long key : boxedKeys) {
+            tree.put(key, key);
+        }
+        return tree;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LongTreeMapCustom<Long> longTreeMapCustomInsert() {
+        LongTreeMapCustom<Long> tree = new LongTreeMapCustom<>();
+        for (int i = 0; i < keys.length; i++) {
+            tree.add(keys[i], boxedKeys[i]);
+        }
+        return tree;
+    }
+}
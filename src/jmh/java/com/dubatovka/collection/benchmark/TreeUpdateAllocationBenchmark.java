@@ -0,0 +1,78 @@
+package com.dubatovka.collection.benchmark;
+
+import com.dubatovka.collection.BinaryTreeCustom;
+import com.dubatovka.collection.PersistentBinaryTreeCustom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one update, an add of a new key followed by its removal, in the
+ * mutable {@link BinaryTreeCustom} and in {@link PersistentBinaryTreeCustom}.
+ * Read {@code gc.alloc.rate.norm} for the bytes allocated per update pair:
+ * the persistent tree copies the path to the key on both operations. Keys
+ * are preallocated, so boxing is not counted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeUpdateAllocationBenchmark {
+    private static final int UPDATE_KEYS = 1024;
+    
+    @Param({"1000", "1000000"})
+    private int size;
+    
+    private final Integer[] updateKeys = new Integer[UPDATE_KEYS];
+    private int cursor;
+    
+    private BinaryTreeCustom<Integer, Integer> binaryTreeCustom;
+    private PersistentBinaryTreeCustom<Integer, Integer> persistentBinaryTreeCustom;
+    
+    @Setup
+    public void setUp() {
+        binaryTreeCustom = new BinaryTreeCustom<>();
+        persistentBinaryTreeCustom = new PersistentBinaryTreeCustom<>();
+        for (int i = 0; i < size; i++) {
+            Integer key = i * 2;
+            binaryTreeCustom.add(key, key);
+            persistentBinaryTreeCustom = persistentBinaryTreeCustom.add(key, key);
+        }
+        int step = Math.max(1, size / UPDATE_KEYS);
+        for (int i = 0; i < UPDATE_KEYS; i++) {
+            updateKeys[i] = (((i * step) % size) * 2) + 1;
+        }
+    }
+    
+    private Integer nextKey() {
+        cursor = (cursor + 1) & (UPDATE_KEYS - 1);
+        return updateKeys[cursor];
+    }
+    
+    @Benchmark
+    public int binaryTreeCustom() {
+        Integer key = nextKey();
+        binaryTreeCustom.add(key, key);
+        binaryTreeCustom.remove(key);
+        return binaryTreeCustom.size();
+    }
+    
+    @Benchmark
+    public int persistentBinaryTreeCustom() {
+        Integer key = nextKey();
+        persistentBinaryTreeCustom = persistentBinaryTreeCustom.add(key, key).remove(key);
+        return persistentBinaryTreeCustom.size();
+    }
+}
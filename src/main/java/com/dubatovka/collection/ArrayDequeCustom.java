@@ -0,0 +1,212 @@
+package com.dubatovka.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Deque backed by a power-of-two ring buffer. Operations at either end are
+ * O(1); the buffer doubles when full, like {@link ArrayListCustom}.
+ * Null elements are not permitted.
+ */
+public class ArrayDequeCustom<E> implements Iterable<E> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INCREASE_CAPACITY_COEFFICIENT = 2;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private Object[] elementData;
+    private int head = 0;
+    private int size = 0;
+    private int modificationCount = 0;
+    
+    public ArrayDequeCustom() {
+        this.elementData = new Object[INITIAL_CAPACITY];
+    }
+    
+    public ArrayDequeCustom(int initCapacity) {
+        if (initCapacity > 0) {
+            elementData = new Object[powerOfTwoCapacity(initCapacity)];
+        } else if (initCapacity == 0) {
+            elementData = new Object[INITIAL_CAPACITY];
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: " + initCapacity);
+        }
+    }
+    
+    public void add(E value) {
+        checkNotNull(value);
+        modificationCount++;
+        ensureCapacity();
+        elementData[(head + size) & (elementData.length - 1)] = value;
+        size++;
+    }
+    
+    public void addFirst(E value) {
+        checkNotNull(value);
+        modificationCount++;
+        ensureCapacity();
+        head = (head - 1) & (elementData.length - 1);
+        elementData[head] = value;
+        size++;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        modificationCount++;
+        E element = (E) elementData[head];
+        elementData[head] = null;
+        head = (head + 1) & (elementData.length - 1);
+        size--;
+        return element;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        modificationCount++;
+        int tail = (head + size - 1) & (elementData.length - 1);
+        E element = (E) elementData[tail];
+        elementData[tail] = null;
+        size--;
+        return element;
+    }
+    
+    public E removeFirst() {
+        E element = pollFirst();
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+    
+    public E removeLast() {
+        E element = pollLast();
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return (E) elementData[head];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return (size == 0) ? null : (E) elementData[(head + size - 1) & (elementData.length - 1)];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        rangeCheck(index);
+        return (E) elementData[(head + index) & (elementData.length - 1)];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return new IteratorCustom();
+    }
+    
+    private void rangeCheck(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void ensureCapacity() {
+        if (size == elementData.length) {
+            increaseCapacity();
+        }
+    }
+    
+    private void increaseCapacity() {
+        if (elementData.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Deque too big");
+        }
+        int newIncreasedCapacity = elementData.length * INCREASE_CAPACITY_COEFFICIENT;
+        Object[] newElementData = new Object[newIncreasedCapacity];
+        int headPart = elementData.length - head;
+        System.arraycopy(elementData, head, newElementData, 0, headPart);
+        System.arraycopy(elementData, 0, newElementData, headPart, head);
+        elementData = newElementData;
+        head = 0;
+    }
+    
+    private void delete(int index) {
+        modificationCount++;
+        int mask = elementData.length - 1;
+        for (int i = index; i < (size - 1); i++) {
+            elementData[(head + i) & mask] = elementData[(head + i + 1) & mask];
+        }
+        elementData[(head + size - 1) & mask] = null;
+        size--;
+    }
+    
+    private static int powerOfTwoCapacity(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        int powerOfTwo = Integer.highestOneBit(capacity);
+        return (powerOfTwo == capacity) ? capacity : (powerOfTwo << 1);
+    }
+    
+    private static void checkNotNull(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null elements are not permitted.");
+        }
+    }
+    
+    private final class IteratorCustom implements Iterator<E> {
+        private int nextToReturn = 0;
+        private int lastReturned = -1;
+        private int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn < size;
+        }
+        
+        @Override
+        public E next() {
+            checkForOuterModification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = nextToReturn;
+            nextToReturn++;
+            return get(lastReturned);
+        }
+        
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("There is no element to remove.");
+            }
+            checkForOuterModification();
+            
+            delete(lastReturned);
+            nextToReturn = lastReturned;
+            lastReturned = -1;
+            expectedModificationCount = modificationCount;
+        }
+        
+        void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.dubatovka.collection;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ArrayListCustom<E> implements Iterable<E> {
     private static final int INITIAL_CAPACITY = 10;
@@ -26,6 +33,11 @@ public class ArrayListCustom<E> implements Iterable<E> {
         }
     }
     
+    ArrayListCustom(Object[] elementData, int size) {
+        this.elementData = elementData;
+        this.size = size;
+    }
+    
     public void add(E value) {
         modificationCount++;
         ensureCapacity();
@@ -41,6 +53,94 @@ public class ArrayListCustom<E> implements Iterable<E> {
         size++;
     }
     
+    public void addAll(Collection<? extends E> values) {
+        addAll(size, values);
+    }
+    
+    public void addAll(int index, Collection<? extends E> values) {
+        rangeCheckForAdd(index);
+        Object[] added = values.toArray();
+        int numNew = added.length;
+        if (numNew == 0) {
+            return;
+        }
+        modificationCount++;
+        ensureCapacity(size + numNew);
+        System.arraycopy(elementData, index, elementData, index + numNew, size - index);
+        System.arraycopy(added, 0, elementData, index, numNew);
+        size += numNew;
+    }
+    
+    public void removeRange(int fromIndex, int toIndex) {
+        if ((fromIndex < 0) || (toIndex > size) || (fromIndex > toIndex)) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", to index: " + toIndex
+                    + ", Array size " + size);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        modificationCount++;
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elementData, newSize, size, null);
+        size = newSize;
+    }
+    
+    /**
+     * Removes the elements matching the filter. The filter is first run over
+     * the whole list and only marks removals in a bitmap, so the list stays
+     * unchanged if the filter throws or the list is modified concurrently;
+     * the survivors are then compacted in one pass.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        int expectedModificationCount = modificationCount;
+        long[] removed = null;
+        int removeCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) elementData[i])) {
+                if (removed == null) {
+                    removed = new long[((size - 1) >> 6) + 1];
+                }
+                removed[i >> 6] |= 1L << i;
+                removeCount++;
+            }
+        }
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (removeCount == 0) {
+            return false;
+        }
+        modificationCount++;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((removed[i >> 6] & (1L << i)) == 0) {
+                elementData[kept] = elementData[i];
+                kept++;
+            }
+        }
+        Arrays.fill(elementData, kept, size, null);
+        size = kept;
+        return true;
+    }
+    
+    public boolean retainAll(Collection<?> values) {
+        return removeIf(element -> !values.contains(element));
+    }
+    
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        int expectedModificationCount = modificationCount;
+        for (int i = 0; i < size; i++) {
+            elementData[i] = operator.apply((E) elementData[i]);
+        }
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+        modificationCount++;
+    }
+    
     public void set(int index, E value) {
         elementData[index] = value;
     }
@@ -75,23 +175,67 @@ public class ArrayListCustom<E> implements Iterable<E> {
         return size == 0;
     }
     
+    Object[] toArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+    
+    /**
+     * Hands the contents over to the caller and leaves this list empty. The
+     * result is the backing array itself when it is exactly full, otherwise
+     * a copy trimmed to the size; either way later changes through this
+     * list cannot reach it.
+     */
+    Object[] detachArray() {
+        Object[] result = (size == elementData.length) ? elementData : Arrays.copyOf(elementData, size);
+        elementData = new Object[INITIAL_CAPACITY];
+        size = 0;
+        modificationCount++;
+        return result;
+    }
+    
     @Override
     public Iterator<E> iterator() {
         return new IteratorCustom();
     }
     
+    @Override
+    public Spliterator<E> spliterator() {
+        return new SpliteratorCustom(0, size, modificationCount);
+    }
+    
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
     private void rangeCheck(int index) {
         if (index >= size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + index);
         }
     }
     
+    private void rangeCheckForAdd(int index) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
     private void ensureCapacity() {
         if (size == elementData.length) {
             increaseCapacity();
         }
     }
     
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            int newIncreasedCapacity = Math.max(elementData.length * INCREASE_CAPACITY_COEFFICIENT, minCapacity);
+            elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
+        }
+    }
+    
     private void increaseCapacity() {
         int newIncreasedCapacity = elementData.length * INCREASE_CAPACITY_COEFFICIENT;
         elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
@@ -148,4 +292,76 @@ public class ArrayListCustom<E> implements Iterable<E> {
             }
         }
     }
+    
+    private final class SpliteratorCustom implements Spliterator<E> {
+        private int index;
+        private final int fence;
+        private final int expectedModificationCount;
+        
+        private SpliteratorCustom(int origin, int fence, int expectedModificationCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+        
+        @Override
+        public Spliterator<E> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new SpliteratorCustom(lo, mid, expectedModificationCount);
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index < fence) {
+                E element = (E) elementData[index++];
+                action.accept(element);
+                checkForOuterModification();
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Object[] data = elementData;
+            int hi = fence;
+            if (hi > data.length) {
+                throw new ConcurrentModificationException();
+            }
+            for (int i = index; i < hi; i++) {
+                action.accept((E) data[i]);
+            }
+            index = hi;
+            checkForOuterModification();
+        }
+        
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+        
+        private void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
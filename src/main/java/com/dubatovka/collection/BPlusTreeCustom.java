@@ -0,0 +1,428 @@
+package com.dubatovka.collection;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * B+tree map with wide array-backed nodes. Values are kept only in leaves,
+ * and leaves are linked, so in-order iteration walks the leaf level.
+ */
+public class BPlusTreeCustom<K, V> implements Iterable<BPlusTreeCustom.Entry<K, V>> {
+    private static final int DEFAULT_MAX_KEYS = 64;
+    private final int maxKeys;
+    private final int minKeys;
+    private Node root;
+    private LeafNode firstLeaf;
+    private int size;
+    private int modificationCount = 0;
+    
+    private final Comparator<? super K> comparator;
+    
+    public BPlusTreeCustom() {
+        this(DEFAULT_MAX_KEYS, null);
+    }
+    
+    public BPlusTreeCustom(Comparator<? super K> comparator) {
+        this(DEFAULT_MAX_KEYS, comparator);
+    }
+    
+    BPlusTreeCustom(int maxKeys, Comparator<? super K> comparator) {
+        if (maxKeys < 3) {
+            throw new IllegalArgumentException("Illegal node size: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        this.minKeys = maxKeys >> 1;
+        this.comparator = comparator;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (root == null) {
+            return null;
+        }
+        Node x = root;
+        while (x instanceof InnerNode) {
+            InnerNode inner = (InnerNode) x;
+            x = inner.children[childIndex(inner, key)];
+        }
+        LeafNode leaf = (LeafNode) x;
+        int i = leafIndex(leaf, key);
+        return (i >= 0) ? (V) leaf.values[i] : null;
+    }
+    
+    public void add(K key, V value) {
+        if (root == null) {
+            firstLeaf = new LeafNode(maxKeys);
+            root = firstLeaf;
+        }
+        Split split = insert(root, key, value);
+        if (split != null) {
+            InnerNode newRoot = new InnerNode(maxKeys);
+            newRoot.keys[0] = split.key;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.sibling;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+    }
+    
+    public void remove(K key) {
+        if (root == null) {
+            return;
+        }
+        boolean removed = delete(root, key);
+        if (removed) {
+            if (root.count == 0) {
+                root = (root instanceof InnerNode) ? ((InnerNode) root).children[0] : null;
+                if (root == null) {
+                    firstLeaf = null;
+                }
+            }
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new IteratorCustom();
+    }
+    
+    /**
+     * Inserts into the subtree rooted at {@code x}. Returns the separator
+     * key and new right sibling if {@code x} had to be split, or null.
+     */
+    private Split insert(Node x, K key, V value) {
+        if (x instanceof LeafNode) {
+            return insertIntoLeaf((LeafNode) x, key, value);
+        }
+        
+        InnerNode inner = (InnerNode) x;
+        int ci = childIndex(inner, key);
+        Split childSplit = insert(inner.children[ci], key, value);
+        if (childSplit == null) {
+            return null;
+        }
+        System.arraycopy(inner.keys, ci, inner.keys, ci + 1, inner.count - ci);
+        System.arraycopy(inner.children, ci + 1, inner.children, ci + 2, inner.count - ci);
+        inner.keys[ci] = childSplit.key;
+        inner.children[ci + 1] = childSplit.sibling;
+        inner.count++;
+        if (inner.count <= maxKeys) {
+            return null;
+        }
+        
+        int mid = inner.count >> 1;
+        InnerNode right = new InnerNode(maxKeys);
+        right.count = inner.count - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.count + 1);
+        Object separator = inner.keys[mid];
+        clear(inner.keys, mid, inner.count);
+        clear(inner.children, mid + 1, inner.count + 1);
+        inner.count = mid;
+        return new Split(separator, right);
+    }
+    
+    private Split insertIntoLeaf(LeafNode leaf, K key, V value) {
+        int i = leafIndex(leaf, key);
+        if (i >= 0) {
+            leaf.values[i] = value;
+            return null;
+        }
+        
+        modificationCount++;
+        int insertion = -i - 1;
+        System.arraycopy(leaf.keys, insertion, leaf.keys, insertion + 1, leaf.count - insertion);
+        System.arraycopy(leaf.values, insertion, leaf.values, insertion + 1, leaf.count - insertion);
+        leaf.keys[insertion] = key;
+        leaf.values[insertion] = value;
+        leaf.count++;
+        size++;
+        if (leaf.count <= maxKeys) {
+            return null;
+        }
+        
+        int mid = leaf.count >> 1;
+        LeafNode right = new LeafNode(maxKeys);
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.count);
+        clear(leaf.keys, mid, leaf.count);
+        clear(leaf.values, mid, leaf.count);
+        leaf.count = mid;
+        right.next = leaf.next;
+        leaf.next = right;
+        return new Split(right.keys[0], right);
+    }
+    
+    private boolean delete(Node x, K key) {
+        if (x instanceof LeafNode) {
+            return deleteFromLeaf((LeafNode) x, key);
+        }
+        
+        InnerNode inner = (InnerNode) x;
+        int ci = childIndex(inner, key);
+        boolean removed = delete(inner.children[ci], key);
+        if (removed && (inner.children[ci].count < minKeys)) {
+            rebalance(inner, ci);
+        }
+        return removed;
+    }
+    
+    private boolean deleteFromLeaf(LeafNode leaf, K key) {
+        int i = leafIndex(leaf, key);
+        if (i < 0) {
+            return false;
+        }
+        
+        modificationCount++;
+        int numMoved = leaf.count - i - 1;
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, numMoved);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, numMoved);
+        leaf.count--;
+        leaf.keys[leaf.count] = null;
+        leaf.values[leaf.count] = null;
+        size--;
+        return true;
+    }
+    
+    private void rebalance(InnerNode parent, int ci) {
+        Node left = (ci > 0) ? parent.children[ci - 1] : null;
+        Node right = (ci < parent.count) ? parent.children[ci + 1] : null;
+        if ((left != null) && (left.count > minKeys)) {
+            borrowFromLeft(parent, ci);
+        } else if ((right != null) && (right.count > minKeys)) {
+            borrowFromRight(parent, ci);
+        } else if (left != null) {
+            merge(parent, ci - 1);
+        } else {
+            merge(parent, ci);
+        }
+    }
+    
+    private void borrowFromLeft(InnerNode parent, int ci) {
+        Node child = parent.children[ci];
+        Node left = parent.children[ci - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+        if (child instanceof LeafNode) {
+            LeafNode leafChild = (LeafNode) child;
+            LeafNode leafLeft = (LeafNode) left;
+            System.arraycopy(leafChild.values, 0, leafChild.values, 1, child.count);
+            leafChild.keys[0] = leafLeft.keys[left.count - 1];
+            leafChild.values[0] = leafLeft.values[left.count - 1];
+            leafLeft.values[left.count - 1] = null;
+            parent.keys[ci - 1] = leafChild.keys[0];
+        } else {
+            InnerNode innerChild = (InnerNode) child;
+            InnerNode innerLeft = (InnerNode) left;
+            System.arraycopy(innerChild.children, 0, innerChild.children, 1, child.count + 1);
+            innerChild.keys[0] = parent.keys[ci - 1];
+            innerChild.children[0] = innerLeft.children[left.count];
+            innerLeft.children[left.count] = null;
+            parent.keys[ci - 1] = innerLeft.keys[left.count - 1];
+        }
+        left.keys[left.count - 1] = null;
+        left.count--;
+        child.count++;
+    }
+    
+    private void borrowFromRight(InnerNode parent, int ci) {
+        Node child = parent.children[ci];
+        Node right = parent.children[ci + 1];
+        if (child instanceof LeafNode) {
+            LeafNode leafChild = (LeafNode) child;
+            LeafNode leafRight = (LeafNode) right;
+            leafChild.keys[child.count] = leafRight.keys[0];
+            leafChild.values[child.count] = leafRight.values[0];
+            System.arraycopy(leafRight.keys, 1, leafRight.keys, 0, right.count - 1);
+            System.arraycopy(leafRight.values, 1, leafRight.values, 0, right.count - 1);
+            leafRight.values[right.count - 1] = null;
+            parent.keys[ci] = leafRight.keys[0];
+        } else {
+            InnerNode innerChild = (InnerNode) child;
+            InnerNode innerRight = (InnerNode) right;
+            innerChild.keys[child.count] = parent.keys[ci];
+            innerChild.children[child.count + 1] = innerRight.children[0];
+            parent.keys[ci] = innerRight.keys[0];
+            System.arraycopy(innerRight.keys, 1, innerRight.keys, 0, right.count - 1);
+            System.arraycopy(innerRight.children, 1, innerRight.children, 0, right.count);
+            innerRight.children[right.count] = null;
+        }
+        right.keys[right.count - 1] = null;
+        right.count--;
+        child.count++;
+    }
+    
+    private void merge(InnerNode parent, int i) {
+        Node left = parent.children[i];
+        Node right = parent.children[i + 1];
+        if (left instanceof LeafNode) {
+            LeafNode leafLeft = (LeafNode) left;
+            LeafNode leafRight = (LeafNode) right;
+            System.arraycopy(leafRight.keys, 0, leafLeft.keys, left.count, right.count);
+            System.arraycopy(leafRight.values, 0, leafLeft.values, left.count, right.count);
+            left.count += right.count;
+            leafLeft.next = leafRight.next;
+        } else {
+            InnerNode innerLeft = (InnerNode) left;
+            InnerNode innerRight = (InnerNode) right;
+            innerLeft.keys[left.count] = parent.keys[i];
+            System.arraycopy(innerRight.keys, 0, innerLeft.keys, left.count + 1, right.count);
+            System.arraycopy(innerRight.children, 0, innerLeft.children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        
+        int numMoved = parent.count - i - 1;
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, numMoved);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, numMoved);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+    
+    private int leafIndex(LeafNode leaf, Object key) {
+        int lo = 0;
+        int hi = leaf.count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(leaf.keys[mid], key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+    
+    private int childIndex(InnerNode inner, Object key) {
+        int lo = 0;
+        int hi = inner.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(key, inner.keys[mid]) >= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private int compare(Object k1, Object k2) {
+        int result;
+        if (comparator == null) {
+            result = ((Comparable<? super K>) k1).compareTo((K) k2);
+        } else {
+            result = comparator.compare((K) k1, (K) k2);
+        }
+        return result;
+    }
+    
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+    
+    public static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+        
+        public K getKey() {
+            return key;
+        }
+        
+        public V getValue() {
+            return value;
+        }
+    }
+    
+    private abstract static class Node {
+        final Object[] keys;
+        int count;
+        
+        Node(int maxKeys) {
+            this.keys = new Object[maxKeys + 1];
+        }
+    }
+    
+    /**
+     * Result of splitting a node: the separator key to insert into the
+     * parent and the new right sibling.
+     */
+    private static final class Split {
+        private final Object key;
+        private final Node sibling;
+        
+        Split(Object key, Node sibling) {
+            this.key = key;
+            this.sibling = sibling;
+        }
+    }
+    
+    private static final class InnerNode extends Node {
+        private final Node[] children;
+        
+        InnerNode(int maxKeys) {
+            super(maxKeys);
+            this.children = new Node[maxKeys + 2];
+        }
+    }
+    
+    private static final class LeafNode extends Node {
+        private final Object[] values;
+        private LeafNode next;
+        
+        LeafNode(int maxKeys) {
+            super(maxKeys);
+            this.values = new Object[maxKeys + 1];
+        }
+    }
+    
+    private class IteratorCustom implements Iterator<Entry<K, V>> {
+        private LeafNode leaf = firstLeaf;
+        private int index = 0;
+        private int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            return (leaf != null) && (index < leaf.count);
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new Entry<>((K) leaf.keys[index], (V) leaf.values[index]);
+            index++;
+            if (index == leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.dubatovka.collection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List that stores its elements in fixed-size chunks instead of one array.
+ * Growth allocates a new chunk and never copies existing elements, and
+ * indices are {@code long}, so the list can hold more than 2^31 elements.
+ */
+public class BigArrayListCustom<E> implements Iterable<E> {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+    private static final int INITIAL_CHUNK_COUNT = 8;
+    private static final int INCREASE_CAPACITY_COEFFICIENT = 2;
+    private final int chunkShift;
+    private final int chunkMask;
+    private long size = 0;
+    private Object[][] chunks;
+    private int chunkCount = 0;
+    private int modificationCount = 0;
+    
+    public BigArrayListCustom() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+    
+    public BigArrayListCustom(int chunkSize) {
+        if ((chunkSize <= 0) || (Integer.bitCount(chunkSize) != 1)) {
+            throw new IllegalArgumentException("Chunk size must be a power of two: " + chunkSize);
+        }
+        chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        chunkMask = chunkSize - 1;
+        chunks = new Object[INITIAL_CHUNK_COUNT][];
+    }
+    
+    public void add(E value) {
+        modificationCount++;
+        ensureCapacity();
+        chunks[chunkIndex(size)][offset(size)] = value;
+        size++;
+    }
+    
+    public void add(long index, E value) {
+        rangeCheckForAdd(index);
+        modificationCount++;
+        ensureCapacity();
+        shiftRight(index);
+        chunks[chunkIndex(index)][offset(index)] = value;
+        size++;
+    }
+    
+    public void set(long index, E value) {
+        rangeCheck(index);
+        chunks[chunkIndex(index)][offset(index)] = value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E get(long index) {
+        rangeCheck(index);
+        return (E) chunks[chunkIndex(index)][offset(index)];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E remove(long index) {
+        rangeCheck(index);
+        modificationCount++;
+        
+        Object removedElement = chunks[chunkIndex(index)][offset(index)];
+        shiftLeft(index);
+        --size;
+        chunks[chunkIndex(size)][offset(size)] = null;
+        return (E) removedElement;
+    }
+    
+    public long size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return new IteratorCustom();
+    }
+    
+    private int chunkIndex(long index) {
+        return (int) (index >>> chunkShift);
+    }
+    
+    private int offset(long index) {
+        return (int) (index & chunkMask);
+    }
+    
+    private void rangeCheck(long index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void rangeCheckForAdd(long index) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void ensureCapacity() {
+        long capacity = ((long) chunkCount) << chunkShift;
+        if (size == capacity) {
+            increaseCapacity();
+        }
+    }
+    
+    private void increaseCapacity() {
+        if (chunkCount == chunks.length) {
+            int newChunkCount = chunks.length * INCREASE_CAPACITY_COEFFICIENT;
+            chunks = Arrays.copyOf(chunks, newChunkCount);
+        }
+        chunks[chunkCount] = new Object[chunkMask + 1];
+        chunkCount++;
+    }
+    
+    private void shiftRight(long index) {
+        int startChunk = chunkIndex(index);
+        int endChunk = chunkIndex(size);
+        for (int c = endChunk; c >= startChunk; c--) {
+            int from = (c == startChunk) ? offset(index) : 0;
+            int to = (c == endChunk) ? offset(size) : chunkMask;
+            System.arraycopy(chunks[c], from, chunks[c], from + 1, to - from);
+            if (c > startChunk) {
+                chunks[c][0] = chunks[c - 1][chunkMask];
+            }
+        }
+    }
+    
+    private void shiftLeft(long index) {
+        int startChunk = chunkIndex(index);
+        int endChunk = chunkIndex(size - 1);
+        for (int c = startChunk; c <= endChunk; c++) {
+            int from = (c == startChunk) ? offset(index) : 0;
+            int to = (c == endChunk) ? offset(size - 1) : chunkMask;
+            System.arraycopy(chunks[c], from + 1, chunks[c], from, to - from);
+            if (c < endChunk) {
+                chunks[c][chunkMask] = chunks[c + 1][0];
+            }
+        }
+    }
+    
+    private final class IteratorCustom implements Iterator<E> {
+        private long nextToReturn = 0;
+        private long lastReturned = -1;
+        private int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != size();
+        }
+        
+        @Override
+        public E next() {
+            checkForOuterModification();
+            try {
+                long i = nextToReturn;
+                E next = get(i);
+                lastReturned = i;
+                nextToReturn = i + 1;
+                return next;
+            } catch (IndexOutOfBoundsException e) {
+                checkForOuterModification();
+                throw new NoSuchElementException(e.getMessage());
+            }
+        }
+        
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("There is no element to remove.");
+            }
+            checkForOuterModification();
+            
+            try {
+                BigArrayListCustom.this.remove(lastReturned);
+                if (lastReturned < nextToReturn) {
+                    nextToReturn -= 1;
+                }
+                lastReturned = -1;
+                expectedModificationCount = modificationCount;
+            } catch (IndexOutOfBoundsException e) {
+                String message = e.getMessage();
+                throw new ConcurrentModificationException(message);
+            }
+        }
+        
+        void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
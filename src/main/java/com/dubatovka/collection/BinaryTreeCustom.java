@@ -2,11 +2,25 @@ package com.dubatovka.collection;
 
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.AbstractMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K, V>> {
+    private static final boolean RED = false;
+    private static final boolean BLACK = true;
+    private static final int PARALLEL_REDUCE_THRESHOLD = 1 << 12;
+    
     private Node<K, V> root;
     private int size;
     private int modificationCount = 0;
@@ -21,25 +35,67 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
         this.comparator = comparator;
     }
     
-    public V get(K key) {
-        V value = null;
-        Node<K, V> x = root;
-        while (x != null) {
-            int cmp = compare(key, x.key);
-            if (cmp == 0) {
-                value = x.value;
+    /**
+     * Builds a balanced tree in linear time from keys sorted in strictly
+     * ascending order of the comparator, or of natural ordering if it is null.
+     *
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K, V> BinaryTreeCustom<K, V> fromSorted(K[] keys, V[] values, Comparator<? super K> comparator) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys: " + keys.length + ", values: " + values.length);
+        }
+        Iterator<Map.Entry<K, V>> entries = new Iterator<Map.Entry<K, V>>() {
+            private int next = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
             }
-            x = (cmp < 0) ? x.left : x.right;
+            
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(keys[next], values[next]);
+                next++;
+                return entry;
+            }
+        };
+        return fromSorted(entries, keys.length, comparator);
+    }
+    
+    /**
+     * Builds a balanced tree in linear time from the first {@code size}
+     * entries of an iterator sorted in strictly ascending key order.
+     *
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     *                                  or the iterator has fewer than {@code size} entries
+     */
+    public static <K, V> BinaryTreeCustom<K, V> fromSorted(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries,
+                                                           int size, Comparator<? super K> comparator) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Illegal size: " + size);
         }
-        return value;
+        BinaryTreeCustom<K, V> tree = new BinaryTreeCustom<>(comparator);
+        SortedInput<K, V> input = new SortedInput<>(entries);
+        tree.root = tree.buildFromSorted(0, 0, size - 1, computeRedLevel(size), input);
+        tree.size = size;
+        return tree;
+    }
+    
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return (node == null) ? null : node.value;
     }
     
     public void add(K key, V value) {
-        modificationCount++;
         Node<K, V> x = root;
         Node<K, V> y = null;
+        int cmp = 0;
         while (x != null) {
-            int cmp = compare(key, x.key);
+            cmp = compare(key, x.key);
             if (cmp == 0) {
                 x.value = value;
                 return;
@@ -49,33 +105,159 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
             }
         }
         
+        modificationCount++;
         Node<K, V> newNode = new Node<>(key, value, y);
         if (y == null) {
             root = newNode;
         } else {
-            if (compare(key, y.key) < 0) {
+            if (cmp < 0) {
                 y.left = newNode;
             } else {
                 y.right = newNode;
             }
         }
+        for (Node<K, V> p = y; p != null; p = p.parent) {
+            p.subtreeSize++;
+        }
+        fixAfterInsertion(newNode);
         size++;
     }
     
     public void remove(K key) {
-        modificationCount++;
+        Node<K, V> x = getNode(key);
+        if (x != null) {
+            unlinkNode(x);
+        }
+    }
+    
+    public K select(int k) {
+        if ((k < 0) || (k >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + size);
+        }
+        Node<K, V> x = root;
+        while (true) {
+            int leftSize = sizeOf(x.left);
+            if (k < leftSize) {
+                x = x.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                x = x.right;
+            } else {
+                return x.key;
+            }
+        }
+    }
+    
+    public int rank(K key) {
+        return countLess(key, false);
+    }
+    
+    public int countInRange(K lo, K hi) {
+        if (compare(lo, hi) > 0) {
+            return 0;
+        }
+        return countLess(hi, true) - countLess(lo, false);
+    }
+    
+    public Node<K, V> floor(K key) {
         Node<K, V> x = root;
-        Node<K, V> prevLevelRoot = null;
+        Node<K, V> candidate = null;
         while (x != null) {
             int cmp = compare(key, x.key);
             if (cmp == 0) {
-                unlinkNode(x, prevLevelRoot);
-                return;
+                return x;
+            } else if (cmp > 0) {
+                candidate = x;
+                x = x.right;
             } else {
-                prevLevelRoot = x;
-                x = (cmp < 0) ? x.left : x.right;
+                x = x.left;
+            }
+        }
+        return candidate;
+    }
+    
+    public Node<K, V> ceiling(K key) {
+        Node<K, V> x = root;
+        Node<K, V> candidate = null;
+        while (x != null) {
+            int cmp = compare(key, x.key);
+            if (cmp == 0) {
+                return x;
+            } else if (cmp < 0) {
+                candidate = x;
+                x = x.left;
+            } else {
+                x = x.right;
+            }
+        }
+        return candidate;
+    }
+    
+    public Node<K, V> higher(K key) {
+        Node<K, V> x = root;
+        Node<K, V> candidate = null;
+        while (x != null) {
+            if (compare(key, x.key) < 0) {
+                candidate = x;
+                x = x.left;
+            } else {
+                x = x.right;
             }
         }
+        return candidate;
+    }
+    
+    public Node<K, V> lower(K key) {
+        Node<K, V> x = root;
+        Node<K, V> candidate = null;
+        while (x != null) {
+            if (compare(key, x.key) > 0) {
+                candidate = x;
+                x = x.right;
+            } else {
+                x = x.left;
+            }
+        }
+        return candidate;
+    }
+    
+    public K firstKey() {
+        Node<K, V> first = getFirstInOrderNode();
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return first.key;
+    }
+    
+    public K lastKey() {
+        Node<K, V> last = getLastInOrderNode();
+        if (last == null) {
+            throw new NoSuchElementException();
+        }
+        return last.key;
+    }
+    
+    public Node<K, V> pollFirst() {
+        Node<K, V> first = getFirstInOrderNode();
+        if (first != null) {
+            unlinkNode(first);
+        }
+        return first;
+    }
+    
+    public RangeView subMap(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new RangeView(fromKey, false, toKey, false);
+    }
+    
+    public RangeView headMap(K toKey) {
+        return new RangeView(null, true, toKey, false);
+    }
+    
+    public RangeView tailMap(K fromKey) {
+        return new RangeView(fromKey, false, null, true);
     }
     
     public int size() {
@@ -92,36 +274,366 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
         return new IteratorCustom(firstInOrderNode);
     }
     
-    private void unlinkNode(Node<K, V> x, Node<K, V> prevLevelRoot) {
-        if (x.right == null) {
-            if (prevLevelRoot == null) {
-                root = x.left;
+    /**
+     * Returns a spliterator that splits at subtree roots, so parallel streams
+     * get halves of roughly equal size without walking the tree.
+     */
+    @Override
+    public Spliterator<Node<K, V>> spliterator() {
+        return new SpliteratorCustom(null, root, size, modificationCount);
+    }
+    
+    public Stream<Node<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    public Stream<Node<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
+    /**
+     * Folds the nodes in key order in the common fork-join pool. Left and
+     * right subtrees are reduced in parallel and joined with {@code combiner},
+     * which must be associative, with {@code identity} as its identity.
+     */
+    public <R> R parallelReduce(R identity, BiFunction<R, ? super Node<K, V>, R> accumulator,
+                                BinaryOperator<R> combiner) {
+        return parallelReduce(ForkJoinPool.commonPool(), identity, accumulator, combiner);
+    }
+    
+    public <R> R parallelReduce(ForkJoinPool pool, R identity, BiFunction<R, ? super Node<K, V>, R> accumulator,
+                                BinaryOperator<R> combiner) {
+        Objects.requireNonNull(accumulator);
+        Objects.requireNonNull(combiner);
+        int expectedModificationCount = modificationCount;
+        R result = pool.invoke(new ReduceTask<>(root, identity, accumulator, combiner));
+        if (modificationCount != expectedModificationCount) {
+            throw new ConcurrentModificationException();
+        }
+        return result;
+    }
+    
+    /**
+     * Checks red-black properties of the tree and returns its black height.
+     * Used by tests to verify that the tree stays balanced.
+     */
+    int checkRedBlackProperties() {
+        if (colorOf(root) != BLACK) {
+            throw new IllegalStateException("Root is not black.");
+        }
+        return checkRedBlackProperties(root);
+    }
+    
+    private int checkRedBlackProperties(Node<K, V> x) {
+        if (x == null) {
+            return 1;
+        }
+        if ((x.left != null) && ((x.left.parent != x) || (compare(x.left.key, x.key) >= 0))) {
+            throw new IllegalStateException("Broken left link at key: " + x.key);
+        }
+        if ((x.right != null) && ((x.right.parent != x) || (compare(x.right.key, x.key) <= 0))) {
+            throw new IllegalStateException("Broken right link at key: " + x.key);
+        }
+        if ((x.color == RED) && ((colorOf(x.left) == RED) || (colorOf(x.right) == RED))) {
+            throw new IllegalStateException("Red node has red child at key: " + x.key);
+        }
+        int leftBlackHeight = checkRedBlackProperties(x.left);
+        int rightBlackHeight = checkRedBlackProperties(x.right);
+        if (leftBlackHeight != rightBlackHeight) {
+            throw new IllegalStateException("Black height differs at key: " + x.key);
+        }
+        if (x.subtreeSize != (sizeOf(x.left) + sizeOf(x.right) + 1)) {
+            throw new IllegalStateException("Wrong subtree size at key: " + x.key);
+        }
+        return leftBlackHeight + ((x.color == BLACK) ? 1 : 0);
+    }
+    
+    private Node<K, V> buildFromSorted(int level, int lo, int hi, int redLevel, SortedInput<K, V> input) {
+        if (hi < lo) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> left = null;
+        if (lo < mid) {
+            left = buildFromSorted(level + 1, lo, mid - 1, redLevel, input);
+        }
+        
+        Map.Entry<? extends K, ? extends V> entry = input.next();
+        if (input.hasPrevious && (compare(input.previousKey, entry.getKey()) >= 0)) {
+            throw new IllegalArgumentException("Input is not sorted at position " + mid + ": " + entry.getKey()
+                    + " after " + input.previousKey);
+        }
+        input.previousKey = entry.getKey();
+        input.hasPrevious = true;
+        
+        Node<K, V> middle = new Node<>(entry.getKey(), entry.getValue(), null);
+        middle.subtreeSize = hi - lo + 1;
+        if (level == redLevel) {
+            middle.color = RED;
+        }
+        if (left != null) {
+            middle.left = left;
+            left.parent = middle;
+        }
+        if (mid < hi) {
+            Node<K, V> right = buildFromSorted(level + 1, mid + 1, hi, redLevel, input);
+            middle.right = right;
+            right.parent = middle;
+        }
+        return middle;
+    }
+    
+    private static int computeRedLevel(int size) {
+        int level = 0;
+        for (int m = size - 1; m >= 0; m = (m / 2) - 1) {
+            level++;
+        }
+        return level;
+    }
+    
+    private Node<K, V> getNode(K key) {
+        Node<K, V> x = root;
+        while (x != null) {
+            int cmp = compare(key, x.key);
+            if (cmp == 0) {
+                return x;
+            }
+            x = (cmp < 0) ? x.left : x.right;
+        }
+        return null;
+    }
+    
+    private int countLess(K key, boolean inclusive) {
+        int count = 0;
+        Node<K, V> x = root;
+        while (x != null) {
+            int cmp = compare(key, x.key);
+            if ((cmp > 0) || (inclusive && (cmp == 0))) {
+                count += sizeOf(x.left) + 1;
+                x = x.right;
+            } else if (cmp < 0) {
+                x = x.left;
             } else {
-                if (Objects.equals(x, prevLevelRoot.left)) {
-                    prevLevelRoot.left = x.left;
-                } else {
-                    prevLevelRoot.right = x.left;
-                }
+                return count + sizeOf(x.left);
             }
-        } else {
-            prevLevelRoot = null;
+        }
+        return count;
+    }
+    
+    private void unlinkNode(Node<K, V> x) {
+        modificationCount++;
+        size--;
+        
+        if ((x.left != null) && (x.right != null)) {
             Node<K, V> leftMost = x.right;
             while (leftMost.left != null) {
-                prevLevelRoot = leftMost;
                 leftMost = leftMost.left;
             }
-            
             x.key = leftMost.key;
             x.value = leftMost.value;
-            
-            if (prevLevelRoot != null) {
-                prevLevelRoot.left = leftMost.right;
+            x = leftMost;
+        }
+        for (Node<K, V> p = x.parent; p != null; p = p.parent) {
+            p.subtreeSize--;
+        }
+        x.subtreeSize = 0;
+        
+        Node<K, V> replacement = (x.left != null) ? x.left : x.right;
+        if (replacement != null) {
+            replacement.parent = x.parent;
+            if (x.parent == null) {
+                root = replacement;
+            } else if (x == x.parent.left) {
+                x.parent.left = replacement;
             } else {
-                x.right = leftMost.right;
+                x.parent.right = replacement;
+            }
+            x.left = null;
+            x.right = null;
+            x.parent = null;
+            if (x.color == BLACK) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (x.parent == null) {
+            root = null;
+        } else {
+            if (x.color == BLACK) {
+                fixAfterDeletion(x);
+            }
+            if (x.parent != null) {
+                if (x == x.parent.left) {
+                    x.parent.left = null;
+                } else if (x == x.parent.right) {
+                    x.parent.right = null;
+                }
+                x.parent = null;
             }
-            
         }
-        size--;
+    }
+    
+    private void fixAfterInsertion(Node<K, V> x) {
+        x.color = RED;
+        while ((x != null) && (x != root) && (x.parent.color == RED)) {
+            if (parentOf(x) == leftOf(parentOf(parentOf(x)))) {
+                Node<K, V> uncle = rightOf(parentOf(parentOf(x)));
+                if (colorOf(uncle) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == rightOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateLeft(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateRight(parentOf(parentOf(x)));
+                }
+            } else {
+                Node<K, V> uncle = leftOf(parentOf(parentOf(x)));
+                if (colorOf(uncle) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == leftOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateRight(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateLeft(parentOf(parentOf(x)));
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+    
+    private void fixAfterDeletion(Node<K, V> x) {
+        while ((x != root) && (colorOf(x) == BLACK)) {
+            if (x == leftOf(parentOf(x))) {
+                Node<K, V> sibling = rightOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateLeft(parentOf(x));
+                    sibling = rightOf(parentOf(x));
+                }
+                if ((colorOf(leftOf(sibling)) == BLACK) && (colorOf(rightOf(sibling)) == BLACK)) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(rightOf(sibling)) == BLACK) {
+                        setColor(leftOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = rightOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(rightOf(sibling), BLACK);
+                    rotateLeft(parentOf(x));
+                    x = root;
+                }
+            } else {
+                Node<K, V> sibling = leftOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateRight(parentOf(x));
+                    sibling = leftOf(parentOf(x));
+                }
+                if ((colorOf(rightOf(sibling)) == BLACK) && (colorOf(leftOf(sibling)) == BLACK)) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(leftOf(sibling)) == BLACK) {
+                        setColor(rightOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = leftOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(leftOf(sibling), BLACK);
+                    rotateRight(parentOf(x));
+                    x = root;
+                }
+            }
+        }
+        setColor(x, BLACK);
+    }
+    
+    private void rotateLeft(Node<K, V> p) {
+        if (p != null) {
+            Node<K, V> r = p.right;
+            p.right = r.left;
+            if (r.left != null) {
+                r.left.parent = p;
+            }
+            r.parent = p.parent;
+            if (p.parent == null) {
+                root = r;
+            } else if (p.parent.left == p) {
+                p.parent.left = r;
+            } else {
+                p.parent.right = r;
+            }
+            r.left = p;
+            p.parent = r;
+            r.subtreeSize = p.subtreeSize;
+            p.subtreeSize = sizeOf(p.left) + sizeOf(p.right) + 1;
+        }
+    }
+    
+    private void rotateRight(Node<K, V> p) {
+        if (p != null) {
+            Node<K, V> l = p.left;
+            p.left = l.right;
+            if (l.right != null) {
+                l.right.parent = p;
+            }
+            l.parent = p.parent;
+            if (p.parent == null) {
+                root = l;
+            } else if (p.parent.right == p) {
+                p.parent.right = l;
+            } else {
+                p.parent.left = l;
+            }
+            l.right = p;
+            p.parent = l;
+            l.subtreeSize = p.subtreeSize;
+            p.subtreeSize = sizeOf(p.left) + sizeOf(p.right) + 1;
+        }
+    }
+    
+    private static <K, V> boolean colorOf(Node<K, V> p) {
+        return (p == null) ? BLACK : p.color;
+    }
+    
+    private static <K, V> int sizeOf(Node<K, V> p) {
+        return (p == null) ? 0 : p.subtreeSize;
+    }
+    
+    private static <K, V> Node<K, V> parentOf(Node<K, V> p) {
+        return (p == null) ? null : p.parent;
+    }
+    
+    private static <K, V> void setColor(Node<K, V> p, boolean color) {
+        if (p != null) {
+            p.color = color;
+        }
+    }
+    
+    private static <K, V> Node<K, V> leftOf(Node<K, V> p) {
+        return (p == null) ? null : p.left;
+    }
+    
+    private static <K, V> Node<K, V> rightOf(Node<K, V> p) {
+        return (p == null) ? null : p.right;
     }
     
     @SuppressWarnings("unchecked")
@@ -145,12 +657,62 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
         return t;
     }
     
+    private Node<K, V> getLastInOrderNode() {
+        Node<K, V> t = root;
+        if (t != null) {
+            while (t.right != null) {
+                t = t.right;
+            }
+        }
+        return t;
+    }
+    
+    private static <K, V> Node<K, V> getFirstInOrderNode(Node<K, V> t) {
+        while (t.left != null) {
+            t = t.left;
+        }
+        return t;
+    }
+    
+    /**
+     * Returns the in-order successor of {@code x} without leaving the subtree
+     * rooted at {@code top}, or null when {@code x} is its last node.
+     */
+    private static <K, V> Node<K, V> getNextInOrderNode(Node<K, V> x, Node<K, V> top) {
+        if (x.right != null) {
+            return getFirstInOrderNode(x.right);
+        }
+        while ((x != top) && (x == x.parent.right)) {
+            x = x.parent;
+        }
+        return (x == top) ? null : x.parent;
+    }
+    
+    private static final class SortedInput<K, V> {
+        private final Iterator<? extends Map.Entry<? extends K, ? extends V>> entries;
+        private K previousKey;
+        private boolean hasPrevious;
+        
+        private SortedInput(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries) {
+            this.entries = entries;
+        }
+        
+        private Map.Entry<? extends K, ? extends V> next() {
+            if (!entries.hasNext()) {
+                throw new IllegalArgumentException("Input has fewer entries than the declared size.");
+            }
+            return entries.next();
+        }
+    }
+    
     public static final class Node<K, V> {
         private K key;
         private V value;
         private Node<K, V> parent;
         private Node<K, V> left;
         private Node<K, V> right;
+        private boolean color = BLACK;
+        private int subtreeSize = 1;
         
         private Node(K key, V value, Node<K, V> parent) {
             this.key = key;
@@ -198,9 +760,55 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
         }
     }
     
+    /**
+     * Live view of the keys in [fromKey, toKey) backed by the tree.
+     * Iteration seeks to the lower bound and stops at the upper bound.
+     */
+    public final class RangeView implements Iterable<Node<K, V>> {
+        private final K fromKey;
+        private final boolean fromStart;
+        private final K toKey;
+        private final boolean toEnd;
+        
+        private RangeView(K fromKey, boolean fromStart, K toKey, boolean toEnd) {
+            this.fromKey = fromKey;
+            this.fromStart = fromStart;
+            this.toKey = toKey;
+            this.toEnd = toEnd;
+        }
+        
+        public V get(K key) {
+            return inRange(key) ? BinaryTreeCustom.this.get(key) : null;
+        }
+        
+        public int size() {
+            int below = toEnd ? size : countLess(toKey, false);
+            int skipped = fromStart ? 0 : countLess(fromKey, false);
+            return Math.max(below - skipped, 0);
+        }
+        
+        public boolean isEmpty() {
+            return !iterator().hasNext();
+        }
+        
+        @Override
+        public Iterator<Node<K, V>> iterator() {
+            Node<K, V> first = fromStart ? getFirstInOrderNode() : ceiling(fromKey);
+            return new IteratorCustom(first, toKey, toEnd);
+        }
+        
+        private boolean inRange(K key) {
+            boolean tooLow = !fromStart && (compare(key, fromKey) < 0);
+            boolean tooHigh = !toEnd && (compare(key, toKey) >= 0);
+            return !tooLow && !tooHigh;
+        }
+    }
+    
     private class IteratorCustom implements Iterator<Node<K, V>> {
         private Node<K, V> nextToReturn;
         private int expectedModificationCount = modificationCount;
+        private K toKey;
+        private boolean toEnd = true;
     
         IteratorCustom() {
             expectedModificationCount = modificationCount;
@@ -212,6 +820,13 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
             nextToReturn = first;
         }
         
+        IteratorCustom(Node<K, V> first, K toKey, boolean toEnd) {
+            expectedModificationCount = modificationCount;
+            this.toKey = toKey;
+            this.toEnd = toEnd;
+            nextToReturn = checkUpperBound(first);
+        }
+        
         @Override
         public final boolean hasNext() {
             return nextToReturn != null;
@@ -226,10 +841,15 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
             if (modificationCount != expectedModificationCount) {
                 throw new ConcurrentModificationException();
             }
-            nextToReturn = getNextInOrderNode(e);
+            nextToReturn = checkUpperBound(getNextInOrderNode(e));
             return e;
         }
         
+        private Node<K, V> checkUpperBound(Node<K, V> node) {
+            boolean beyondBound = !toEnd && (node != null) && (compare(node.key, toKey) >= 0);
+            return beyondBound ? null : node;
+        }
+        
         private Node<K, V> getNextInOrderNode(Node<K, V> currentNode) {
             Node<K, V> nextInOrderNode = null;
             
@@ -259,4 +879,143 @@ public class BinaryTreeCustom<K, V> implements Iterable<BinaryTreeCustom.Node<K,
             return t;
         }
     }
+    
+    /**
+     * Covers a single node followed by a whole subtree. Splitting hands off
+     * the node and the left subtree, and keeps the subtree root and its
+     * right subtree. Sizes stay exact thanks to {@code subtreeSize}.
+     */
+    private final class SpliteratorCustom implements Spliterator<Node<K, V>> {
+        private Node<K, V> node;
+        private Node<K, V> subtree;
+        private Node<K, V> next;
+        private Node<K, V> top;
+        private int remaining;
+        private final int expectedModificationCount;
+        
+        private SpliteratorCustom(Node<K, V> node, Node<K, V> subtree, int remaining, int expectedModificationCount) {
+            this.node = node;
+            this.subtree = subtree;
+            this.remaining = remaining;
+            this.expectedModificationCount = expectedModificationCount;
+        }
+        
+        @Override
+        public Spliterator<Node<K, V>> trySplit() {
+            while (subtree != null) {
+                Node<K, V> prefixNode = node;
+                Node<K, V> prefixSubtree = subtree.left;
+                int prefixSize = ((prefixNode == null) ? 0 : 1) + sizeOf(prefixSubtree);
+                node = subtree;
+                subtree = subtree.right;
+                if (prefixSize > 0) {
+                    remaining -= prefixSize;
+                    return new SpliteratorCustom(prefixNode, prefixSubtree, prefixSize, expectedModificationCount);
+                }
+            }
+            return null;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super Node<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Node<K, V> e;
+            if (node != null) {
+                e = node;
+                node = null;
+            } else {
+                if (subtree != null) {
+                    top = subtree;
+                    next = getFirstInOrderNode(subtree);
+                    subtree = null;
+                }
+                e = next;
+                if (e == null) {
+                    return false;
+                }
+                next = getNextInOrderNode(e, top);
+            }
+            remaining--;
+            action.accept(e);
+            checkForOuterModification();
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super Node<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (node != null) {
+                action.accept(node);
+                node = null;
+            }
+            if (subtree != null) {
+                top = subtree;
+                next = getFirstInOrderNode(subtree);
+                subtree = null;
+            }
+            for (Node<K, V> e = next; e != null; e = getNextInOrderNode(e, top)) {
+                action.accept(e);
+            }
+            next = null;
+            remaining = 0;
+            checkForOuterModification();
+        }
+        
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                    | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+        
+        private void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+    
+    private static final class ReduceTask<K, V, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+        private final Node<K, V> subtree;
+        private final R identity;
+        private final BiFunction<R, ? super Node<K, V>, R> accumulator;
+        private final BinaryOperator<R> combiner;
+        
+        private ReduceTask(Node<K, V> subtree, R identity, BiFunction<R, ? super Node<K, V>, R> accumulator,
+                           BinaryOperator<R> combiner) {
+            this.subtree = subtree;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+        
+        @Override
+        protected R compute() {
+            if (sizeOf(subtree) <= PARALLEL_REDUCE_THRESHOLD) {
+                R result = identity;
+                if (subtree != null) {
+                    Node<K, V> e = getFirstInOrderNode(subtree);
+                    for (; e != null; e = getNextInOrderNode(e, subtree)) {
+                        result = accumulator.apply(result, e);
+                    }
+                }
+                return result;
+            }
+            
+            ReduceTask<K, V, R> leftTask = new ReduceTask<>(subtree.left, identity, accumulator, combiner);
+            leftTask.fork();
+            ReduceTask<K, V, R> rightTask = new ReduceTask<>(subtree.right, identity, accumulator, combiner);
+            R right = combiner.apply(accumulator.apply(identity, subtree), rightTask.compute());
+            return combiner.apply(leftTask.join(), right);
+        }
+    }
 }
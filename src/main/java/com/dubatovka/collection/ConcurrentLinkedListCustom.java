@@ -0,0 +1,542 @@
+package com.dubatovka.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Lock-free doubly linked deque for producer/consumer use of the list ends.
+ * <p>
+ * Follows the algorithm of {@link java.util.concurrent.ConcurrentLinkedDeque}:
+ * an element is removed logically by CAS-ing its item to {@code null} and is
+ * then unlinked lazily. {@code head} and {@code tail} may lag behind the real
+ * ends and are fixed up by later operations. Iterators are weakly consistent
+ * and never throw {@link java.util.ConcurrentModificationException}.
+ * Null elements are not permitted.
+ */
+public class ConcurrentLinkedListCustom<E> implements Iterable<E> {
+    private static final int HOPS = 2;
+    private static final Node<Object> PREV_TERMINATOR;
+    private static final Node<Object> NEXT_TERMINATOR;
+    
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedListCustom, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedListCustom.class, Node.class, "head");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedListCustom, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedListCustom.class, Node.class, "tail");
+    
+    static {
+        PREV_TERMINATOR = new Node<>(null);
+        PREV_TERMINATOR.next = PREV_TERMINATOR;
+        NEXT_TERMINATOR = new Node<>(null);
+        NEXT_TERMINATOR.prev = NEXT_TERMINATOR;
+    }
+    
+    private volatile Node<E> head;
+    private volatile Node<E> tail;
+    
+    public ConcurrentLinkedListCustom() {
+        head = tail = new Node<>(null);
+    }
+    
+    public void add(E value) {
+        linkLast(value);
+    }
+    
+    public void addFirst(E value) {
+        linkFirst(value);
+    }
+    
+    public E pollFirst() {
+        for (Node<E> p = first(); p != null; p = succ(p)) {
+            E item = p.item;
+            if ((item != null) && p.casItem(item, null)) {
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    public E pollLast() {
+        for (Node<E> p = last(); p != null; p = pred(p)) {
+            E item = p.item;
+            if ((item != null) && p.casItem(item, null)) {
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    public E peekFirst() {
+        for (Node<E> p = first(); p != null; p = succ(p)) {
+            E item = p.item;
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    public E peekLast() {
+        for (Node<E> p = last(); p != null; p = pred(p)) {
+            E item = p.item;
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Counts the elements by traversal, so the result is O(n) and only
+     * an estimate while other threads modify the list.
+     */
+    public int size() {
+        int count = 0;
+        for (Node<E> p = first(); p != null; p = succ(p)) {
+            if ((p.item != null) && (++count == Integer.MAX_VALUE)) {
+                break;
+            }
+        }
+        return count;
+    }
+    
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return new IteratorCustom();
+    }
+    
+    private void linkFirst(E value) {
+        checkNotNull(value);
+        Node<E> newNode = new Node<>(value);
+        
+        restartFromHead:
+        for (;;) {
+            for (Node<E> h = head, p = h, q;;) {
+                if (((q = p.prev) != null) && ((q = (p = q).prev) != null)) {
+                    p = (h != (h = head)) ? h : q;
+                } else if (p.next == p) {
+                    continue restartFromHead;
+                } else {
+                    newNode.lazySetNext(p);
+                    if (p.casPrev(null, newNode)) {
+                        if (p != h) {
+                            casHead(h, newNode);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+    
+    private void linkLast(E value) {
+        checkNotNull(value);
+        Node<E> newNode = new Node<>(value);
+        
+        restartFromTail:
+        for (;;) {
+            for (Node<E> t = tail, p = t, q;;) {
+                if (((q = p.next) != null) && ((q = (p = q).next) != null)) {
+                    p = (t != (t = tail)) ? t : q;
+                } else if (p.prev == p) {
+                    continue restartFromTail;
+                } else {
+                    newNode.lazySetPrev(p);
+                    if (p.casNext(null, newNode)) {
+                        if (p != t) {
+                            casTail(t, newNode);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+    
+    private void unlink(Node<E> x) {
+        Node<E> prev = x.prev;
+        Node<E> next = x.next;
+        if (prev == null) {
+            unlinkFirst(x, next);
+        } else if (next == null) {
+            unlinkLast(x, prev);
+        } else {
+            Node<E> activePred;
+            Node<E> activeSucc;
+            boolean isFirst;
+            boolean isLast;
+            int hops = 1;
+            
+            for (Node<E> p = prev;; ++hops) {
+                if (p.item != null) {
+                    activePred = p;
+                    isFirst = false;
+                    break;
+                }
+                Node<E> q = p.prev;
+                if (q == null) {
+                    if (p.next == p) {
+                        return;
+                    }
+                    activePred = p;
+                    isFirst = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+            
+            for (Node<E> p = next;; ++hops) {
+                if (p.item != null) {
+                    activeSucc = p;
+                    isLast = false;
+                    break;
+                }
+                Node<E> q = p.next;
+                if (q == null) {
+                    if (p.prev == p) {
+                        return;
+                    }
+                    activeSucc = p;
+                    isLast = true;
+                    break;
+                } else if (p == q) {
+                    return;
+                } else {
+                    p = q;
+                }
+            }
+            
+            if ((hops < HOPS) && (isFirst || isLast)) {
+                return;
+            }
+            
+            skipDeletedSuccessors(activePred);
+            skipDeletedPredecessors(activeSucc);
+            
+            boolean stillLinked = (activePred.next == activeSucc) && (activeSucc.prev == activePred)
+                    && (isFirst ? (activePred.prev == null) : (activePred.item != null))
+                    && (isLast ? (activeSucc.next == null) : (activeSucc.item != null));
+            if ((isFirst || isLast) && stillLinked) {
+                updateHead();
+                updateTail();
+                x.lazySetPrev(isFirst ? prevTerminator() : x);
+                x.lazySetNext(isLast ? nextTerminator() : x);
+            }
+        }
+    }
+    
+    private void unlinkFirst(Node<E> first, Node<E> next) {
+        for (Node<E> o = null, p = next, q;;) {
+            if ((p.item != null) || ((q = p.next) == null)) {
+                if ((o != null) && (p.prev != p) && first.casNext(next, p)) {
+                    skipDeletedPredecessors(p);
+                    if ((first.prev == null) && ((p.next == null) || (p.item != null)) && (p.prev == first)) {
+                        updateHead();
+                        updateTail();
+                        o.lazySetNext(o);
+                        o.lazySetPrev(prevTerminator());
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+    
+    private void unlinkLast(Node<E> last, Node<E> prev) {
+        for (Node<E> o = null, p = prev, q;;) {
+            if ((p.item != null) || ((q = p.prev) == null)) {
+                if ((o != null) && (p.next != p) && last.casPrev(prev, p)) {
+                    skipDeletedSuccessors(p);
+                    if ((last.next == null) && ((p.prev == null) || (p.item != null)) && (p.next == last)) {
+                        updateHead();
+                        updateTail();
+                        o.lazySetPrev(o);
+                        o.lazySetNext(nextTerminator());
+                    }
+                }
+                return;
+            } else if (p == q) {
+                return;
+            } else {
+                o = p;
+                p = q;
+            }
+        }
+    }
+    
+    private void updateHead() {
+        Node<E> h;
+        Node<E> p;
+        Node<E> q;
+        restartFromHead:
+        while (((h = head).item == null) && ((p = h.prev) != null)) {
+            for (;;) {
+                if (((q = p.prev) == null) || ((q = (p = q).prev) == null)) {
+                    if (casHead(h, p)) {
+                        return;
+                    } else {
+                        continue restartFromHead;
+                    }
+                } else if (h != head) {
+                    continue restartFromHead;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+    
+    private void updateTail() {
+        Node<E> t;
+        Node<E> p;
+        Node<E> q;
+        restartFromTail:
+        while (((t = tail).item == null) && ((p = t.next) != null)) {
+            for (;;) {
+                if (((q = p.next) == null) || ((q = (p = q).next) == null)) {
+                    if (casTail(t, p)) {
+                        return;
+                    } else {
+                        continue restartFromTail;
+                    }
+                } else if (t != tail) {
+                    continue restartFromTail;
+                } else {
+                    p = q;
+                }
+            }
+        }
+    }
+    
+    private void skipDeletedPredecessors(Node<E> x) {
+        whileActive:
+        do {
+            Node<E> prev = x.prev;
+            Node<E> p = prev;
+            for (;;) {
+                if (p.item != null) {
+                    break;
+                }
+                Node<E> q = p.prev;
+                if (q == null) {
+                    if (p.next == p) {
+                        continue whileActive;
+                    }
+                    break;
+                } else if (p == q) {
+                    continue whileActive;
+                } else {
+                    p = q;
+                }
+            }
+            
+            if ((prev == p) || x.casPrev(prev, p)) {
+                return;
+            }
+        } while ((x.item != null) || (x.next == null));
+    }
+    
+    private void skipDeletedSuccessors(Node<E> x) {
+        whileActive:
+        do {
+            Node<E> next = x.next;
+            Node<E> p = next;
+            for (;;) {
+                if (p.item != null) {
+                    break;
+                }
+                Node<E> q = p.next;
+                if (q == null) {
+                    if (p.prev == p) {
+                        continue whileActive;
+                    }
+                    break;
+                } else if (p == q) {
+                    continue whileActive;
+                } else {
+                    p = q;
+                }
+            }
+            
+            if ((next == p) || x.casNext(next, p)) {
+                return;
+            }
+        } while ((x.item != null) || (x.prev == null));
+    }
+    
+    private Node<E> succ(Node<E> p) {
+        Node<E> q = p.next;
+        return (p == q) ? first() : q;
+    }
+    
+    private Node<E> pred(Node<E> p) {
+        Node<E> q = p.prev;
+        return (p == q) ? last() : q;
+    }
+    
+    private Node<E> first() {
+        restartFromHead:
+        for (;;) {
+            for (Node<E> h = head, p = h, q;;) {
+                if (((q = p.prev) != null) && ((q = (p = q).prev) != null)) {
+                    p = (h != (h = head)) ? h : q;
+                } else if ((p == h) || casHead(h, p)) {
+                    return p;
+                } else {
+                    continue restartFromHead;
+                }
+            }
+        }
+    }
+    
+    private Node<E> last() {
+        restartFromTail:
+        for (;;) {
+            for (Node<E> t = tail, p = t, q;;) {
+                if (((q = p.next) != null) && ((q = (p = q).next) != null)) {
+                    p = (t != (t = tail)) ? t : q;
+                } else if ((p == t) || casTail(t, p)) {
+                    return p;
+                } else {
+                    continue restartFromTail;
+                }
+            }
+        }
+    }
+    
+    private boolean casHead(Node<E> expected, Node<E> value) {
+        return HEAD.compareAndSet(this, expected, value);
+    }
+    
+    private boolean casTail(Node<E> expected, Node<E> value) {
+        return TAIL.compareAndSet(this, expected, value);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Node<E> prevTerminator() {
+        return (Node<E>) PREV_TERMINATOR;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Node<E> nextTerminator() {
+        return (Node<E>) NEXT_TERMINATOR;
+    }
+    
+    private static void checkNotNull(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null elements are not permitted.");
+        }
+    }
+    
+    private static final class Node<E> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Object> ITEM =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "item");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> PREV =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "prev");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+        
+        private volatile Node<E> prev;
+        private volatile E item;
+        private volatile Node<E> next;
+        
+        Node(E item) {
+            this.item = item;
+        }
+        
+        boolean casItem(E expected, E value) {
+            return ITEM.compareAndSet(this, expected, value);
+        }
+        
+        void lazySetNext(Node<E> value) {
+            NEXT.lazySet(this, value);
+        }
+        
+        boolean casNext(Node<E> expected, Node<E> value) {
+            return NEXT.compareAndSet(this, expected, value);
+        }
+        
+        void lazySetPrev(Node<E> value) {
+            PREV.lazySet(this, value);
+        }
+        
+        boolean casPrev(Node<E> expected, Node<E> value) {
+            return PREV.compareAndSet(this, expected, value);
+        }
+    }
+    
+    private final class IteratorCustom implements Iterator<E> {
+        private Node<E> nextNode;
+        private E nextItem;
+        private Node<E> lastReturned;
+        
+        private IteratorCustom() {
+            advance();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextItem != null;
+        }
+        
+        @Override
+        public E next() {
+            E item = nextItem;
+            if (item == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return item;
+        }
+        
+        @Override
+        public void remove() {
+            Node<E> l = lastReturned;
+            if (l == null) {
+                throw new IllegalStateException("There is no element to remove.");
+            }
+            E item = l.item;
+            if ((item != null) && l.casItem(item, null)) {
+                unlink(l);
+            }
+            lastReturned = null;
+        }
+        
+        private void advance() {
+            lastReturned = nextNode;
+            Node<E> p = (nextNode == null) ? first() : succ(nextNode);
+            for (;; p = succ(p)) {
+                if (p == null) {
+                    nextNode = null;
+                    nextItem = null;
+                    break;
+                }
+                E item = p.item;
+                if (item != null) {
+                    nextNode = p;
+                    nextItem = item;
+                    break;
+                }
+            }
+        }
+    }
+}
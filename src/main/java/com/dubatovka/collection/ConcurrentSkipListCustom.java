@@ -0,0 +1,324 @@
+package com.dubatovka.collection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe sorted map for shared indexes with many readers, as a
+ * concurrent counterpart of {@link BinaryTreeCustom}.
+ * <p>
+ * Follows the lazy skip list of Herlihy, Lev, Luchangco and Shavit. Reads
+ * take no locks and never block. A write locks only the predecessors of the
+ * node it links or unlinks, validates that they are still adjacent, and
+ * retries otherwise, so writers contend only on the region they touch. A
+ * node is removed logically by marking it and then unlinked under the locks.
+ * Keys are ordered by their natural ordering or by the given comparator.
+ * Iterators are weakly consistent and never throw
+ * {@link java.util.ConcurrentModificationException}. Null keys and values
+ * are not permitted.
+ */
+public class ConcurrentSkipListCustom<K, V> implements Iterable<ConcurrentSkipListCustom.Entry<K, V>> {
+    private static final int MAX_LEVEL = 32;
+    
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL - 1);
+    private final LongAdder size = new LongAdder();
+    private final Comparator<? super K> comparator;
+    
+    public ConcurrentSkipListCustom() {
+        this(null);
+    }
+    
+    public ConcurrentSkipListCustom(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+    
+    public V get(K key) {
+        checkNotNull(key);
+        Node<K, V> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<K, V> curr = pred.next.get(level);
+            int cmp = 1;
+            while ((curr != null) && ((cmp = compare(key, curr.key)) > 0)) {
+                pred = curr;
+                curr = pred.next.get(level);
+            }
+            if ((curr != null) && (cmp == 0)) {
+                return (curr.fullyLinked && !curr.marked) ? curr.value : null;
+            }
+        }
+        return null;
+    }
+    
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+    
+    public void add(K key, V value) {
+        checkNotNull(key);
+        checkNotNull(value);
+        int topLevel = randomLevel();
+        Node<K, V>[] preds = newNodeArray();
+        Node<K, V>[] succs = newNodeArray();
+        while (true) {
+            int levelFound = find(key, preds, succs);
+            if (levelFound != -1) {
+                Node<K, V> nodeFound = succs[levelFound];
+                if (!nodeFound.marked) {
+                    while (!nodeFound.fullyLinked) {
+                        Thread.yield();
+                    }
+                    nodeFound.value = value;
+                    return;
+                }
+                continue;
+            }
+            
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && (level <= topLevel); level++) {
+                    Node<K, V> pred = preds[level];
+                    Node<K, V> succ = succs[level];
+                    pred.lock.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && ((succ == null) || !succ.marked) && (pred.next.get(level) == succ);
+                }
+                if (!valid) {
+                    continue;
+                }
+                
+                Node<K, V> newNode = new Node<>(key, value, topLevel);
+                for (int level = 0; level <= topLevel; level++) {
+                    newNode.next.set(level, succs[level]);
+                }
+                for (int level = 0; level <= topLevel; level++) {
+                    preds[level].next.set(level, newNode);
+                }
+                newNode.fullyLinked = true;
+                size.increment();
+                return;
+            } finally {
+                unlock(preds, highestLocked);
+            }
+        }
+    }
+    
+    public void remove(K key) {
+        checkNotNull(key);
+        Node<K, V>[] preds = newNodeArray();
+        Node<K, V>[] succs = newNodeArray();
+        Node<K, V> victim = null;
+        boolean isMarked = false;
+        int topLevel = -1;
+        while (true) {
+            int levelFound = find(key, preds, succs);
+            if (levelFound != -1) {
+                victim = succs[levelFound];
+            }
+            boolean removable = (levelFound != -1) && victim.fullyLinked
+                    && (victim.topLevel == levelFound) && !victim.marked;
+            if (!isMarked && !removable) {
+                return;
+            }
+            
+            if (!isMarked) {
+                topLevel = victim.topLevel;
+                victim.lock.lock();
+                if (victim.marked) {
+                    victim.lock.unlock();
+                    return;
+                }
+                victim.marked = true;
+                isMarked = true;
+            }
+            
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && (level <= topLevel); level++) {
+                    Node<K, V> pred = preds[level];
+                    pred.lock.lock();
+                    highestLocked = level;
+                    valid = !pred.marked && (pred.next.get(level) == victim);
+                }
+                if (!valid) {
+                    continue;
+                }
+                
+                for (int level = topLevel; level >= 0; level--) {
+                    preds[level].next.set(level, victim.next.get(level));
+                }
+                victim.lock.unlock();
+                size.decrement();
+                return;
+            } finally {
+                unlock(preds, highestLocked);
+            }
+        }
+    }
+    
+    public K firstKey() {
+        for (Node<K, V> x = head.next.get(0); x != null; x = x.next.get(0)) {
+            if (x.fullyLinked && !x.marked) {
+                return x.key;
+            }
+        }
+        throw new NoSuchElementException();
+    }
+    
+    /**
+     * Returns the number of entries. Concurrent writes may be only partly
+     * reflected in the result.
+     */
+    public int size() {
+        return size.intValue();
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new IteratorCustom();
+    }
+    
+    /**
+     * Fills the predecessors and successors of {@code key} on every level
+     * and returns the highest level on which a node with that key was found,
+     * or -1.
+     */
+    private int find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        int levelFound = -1;
+        Node<K, V> pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<K, V> curr = pred.next.get(level);
+            int cmp = 1;
+            while ((curr != null) && ((cmp = compare(key, curr.key)) > 0)) {
+                pred = curr;
+                curr = pred.next.get(level);
+            }
+            if ((levelFound == -1) && (curr != null) && (cmp == 0)) {
+                levelFound = level;
+            }
+            preds[level] = pred;
+            succs[level] = curr;
+        }
+        return levelFound;
+    }
+    
+    private void unlock(Node<K, V>[] preds, int highestLocked) {
+        for (int level = 0; level <= highestLocked; level++) {
+            preds[level].lock.unlock();
+        }
+    }
+    
+    private static int randomLevel() {
+        int random = ThreadLocalRandom.current().nextInt();
+        int level = 0;
+        while (((random & 1) != 0) && (level < (MAX_LEVEL - 1))) {
+            level++;
+            random >>>= 1;
+        }
+        return level;
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<K, V>[] newNodeArray() {
+        return (Node<K, V>[]) new Node[MAX_LEVEL];
+    }
+    
+    @SuppressWarnings("unchecked")
+    private int compare(Object k1, Object k2) {
+        int result;
+        if (comparator == null) {
+            result = ((Comparable<? super K>) k1).compareTo((K) k2);
+        } else {
+            result = comparator.compare((K) k1, (K) k2);
+        }
+        return result;
+    }
+    
+    private static void checkNotNull(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null keys and values are not permitted.");
+        }
+    }
+    
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private final AtomicReferenceArray<Node<K, V>> next;
+        private final int topLevel;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean marked;
+        private volatile boolean fullyLinked;
+        
+        private Node(K key, V value, int topLevel) {
+            this.key = key;
+            this.value = value;
+            this.next = new AtomicReferenceArray<>(topLevel + 1);
+            this.topLevel = topLevel;
+        }
+    }
+    
+    public static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+        
+        public K getKey() {
+            return key;
+        }
+        
+        public V getValue() {
+            return value;
+        }
+    }
+    
+    private final class IteratorCustom implements Iterator<Entry<K, V>> {
+        private Node<K, V> nextNode;
+        private V nextValue;
+        
+        private IteratorCustom() {
+            advance(head);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+        
+        @Override
+        public Entry<K, V> next() {
+            Node<K, V> node = nextNode;
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new Entry<>(node.key, nextValue);
+            advance(node);
+            return entry;
+        }
+        
+        private void advance(Node<K, V> from) {
+            for (Node<K, V> x = from.next.get(0); x != null; x = x.next.get(0)) {
+                if (x.fullyLinked && !x.marked) {
+                    nextNode = x;
+                    nextValue = x.value;
+                    return;
+                }
+            }
+            nextNode = null;
+            nextValue = null;
+        }
+    }
+}
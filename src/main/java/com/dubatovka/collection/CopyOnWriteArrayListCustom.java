@@ -0,0 +1,181 @@
+package com.dubatovka.collection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe variant of {@link ArrayListCustom} for read-mostly data.
+ * <p>
+ * Every write copies the backing array and publishes the copy through a
+ * volatile field, so readers never lock and iterators work on an immutable
+ * snapshot without throwing {@link java.util.ConcurrentModificationException}.
+ * Writers are serialized on a private lock. Use {@link #addAll(Collection)}
+ * or {@link #batch(int, Consumer)} to apply many changes at once. A batch
+ * copies the array once, with room for the expected additions, and
+ * publishes that working array directly when it ends up exactly full; a
+ * batch that ends with spare room pays one more copy to trim it.
+ */
+public class CopyOnWriteArrayListCustom<E> implements Iterable<E> {
+    private static final int MIN_BATCH_GROWTH = 10;
+    private final Object lock = new Object();
+    private volatile Object[] elementData;
+    
+    public CopyOnWriteArrayListCustom() {
+        elementData = new Object[0];
+    }
+    
+    public void add(E value) {
+        synchronized (lock) {
+            Object[] current = elementData;
+            Object[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = value;
+            elementData = copy;
+        }
+    }
+    
+    public void add(int index, E value) {
+        synchronized (lock) {
+            Object[] current = elementData;
+            rangeCheckForAdd(index, current.length);
+            Object[] copy = new Object[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            copy[index] = value;
+            elementData = copy;
+        }
+    }
+    
+    public void addAll(Collection<? extends E> values) {
+        Object[] added = values.toArray();
+        if (added.length == 0) {
+            return;
+        }
+        synchronized (lock) {
+            Object[] current = elementData;
+            Object[] copy = Arrays.copyOf(current, current.length + added.length);
+            System.arraycopy(added, 0, copy, current.length, added.length);
+            elementData = copy;
+        }
+    }
+    
+    /**
+     * Applies all changes made by {@code changes} to a private working copy
+     * and publishes the result at once. Readers see either none or all of
+     * the changes. The working copy has room for half the current size, but
+     * at least {@value #MIN_BATCH_GROWTH}, additional elements.
+     */
+    public void batch(Consumer<ArrayListCustom<E>> changes) {
+        synchronized (lock) {
+            int length = elementData.length;
+            batch(Math.max(length >> 1, MIN_BATCH_GROWTH), changes);
+        }
+    }
+    
+    /**
+     * Same as {@link #batch(Consumer)}, with a working copy sized for
+     * {@code expectedAdds} additional elements. When the size grows by
+     * exactly that much, the working array is published without another
+     * copy. The list passed to {@code changes} is emptied when the batch
+     * ends, so a reference kept to it cannot change the published elements.
+     */
+    public void batch(int expectedAdds, Consumer<ArrayListCustom<E>> changes) {
+        if (expectedAdds < 0) {
+            throw new IllegalArgumentException("Illegal expected adds: " + expectedAdds);
+        }
+        synchronized (lock) {
+            Object[] current = elementData;
+            // ArrayListCustom cannot grow a zero-length array
+            int capacity = Math.max(current.length + expectedAdds, 1);
+            ArrayListCustom<E> list = new ArrayListCustom<>(Arrays.copyOf(current, capacity), current.length);
+            changes.accept(list);
+            elementData = list.detachArray();
+        }
+    }
+    
+    public void set(int index, E value) {
+        synchronized (lock) {
+            Object[] current = elementData;
+            rangeCheck(index, current.length);
+            Object[] copy = current.clone();
+            copy[index] = value;
+            elementData = copy;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object[] snapshot = elementData;
+        rangeCheck(index, snapshot.length);
+        return (E) snapshot[index];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        synchronized (lock) {
+            Object[] current = elementData;
+            rangeCheck(index, current.length);
+            Object removedElement = current[index];
+            Object[] copy = new Object[current.length - 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+            elementData = copy;
+            return (E) removedElement;
+        }
+    }
+    
+    public int size() {
+        return elementData.length;
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator(elementData);
+    }
+    
+    private static void rangeCheck(int index, int size) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private static void rangeCheckForAdd(int index, int size) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private final class SnapshotIterator implements Iterator<E> {
+        private final Object[] snapshot;
+        private int nextToReturn = 0;
+        
+        private SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn < snapshot.length;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot[nextToReturn++];
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Snapshot iterator does not support remove.");
+        }
+    }
+}
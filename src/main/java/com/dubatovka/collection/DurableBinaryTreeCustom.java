@@ -0,0 +1,394 @@
+package com.dubatovka.collection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@link BinaryTreeCustom} backed by a write-ahead log and periodic snapshots.
+ * <p>
+ * Every {@code add}/{@code remove} is appended to the log as a CRC-protected
+ * record before the tree is changed. Durability follows the
+ * {@link SyncPolicy}: with {@code EVERY_WRITE} concurrent writers share one
+ * fsync (group commit), with {@code BATCH} the log is fsynced every
+ * {@code batchSize} records, and with {@code OS} each record is written to
+ * the log file at once but never fsynced, so it survives a crash of the
+ * process but not of the operating system. A snapshot writes the in-order
+ * entries to a new file, atomically replaces the old one, fsyncs the
+ * directory and only then truncates the log. On open, the snapshot is
+ * loaded and the log tail is replayed; a torn record at the end of the log
+ * is discarded.
+ */
+public class DurableBinaryTreeCustom<K, V> implements Iterable<Map.Entry<K, V>>, Closeable {
+    private static final String SNAPSHOT_FILE = "tree.snapshot";
+    private static final String SNAPSHOT_TEMP_FILE = "tree.snapshot.tmp";
+    private static final String LOG_FILE = "tree.wal";
+    private static final int SNAPSHOT_MAGIC = 0x42545331;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    
+    private final Path directory;
+    private final EntryCodec<K, V> codec;
+    private final SyncPolicy syncPolicy;
+    private final int batchSize;
+    private final int snapshotInterval;
+    private final BinaryTreeCustom<K, V> tree;
+    private final FileChannel logChannel;
+    private final Object syncLock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+    private final CRC32 crc = new CRC32();
+    private long appendedCount;
+    private volatile long durableCount;
+    private long writesSinceSnapshot;
+    
+    public DurableBinaryTreeCustom(Path directory, EntryCodec<K, V> codec, SyncPolicy syncPolicy) throws IOException {
+        this(directory, null, codec, syncPolicy, DEFAULT_BATCH_SIZE, 0);
+    }
+    
+    /**
+     * @param snapshotInterval number of writes after which a snapshot is taken
+     *                         automatically, or {@code 0} to snapshot only on demand
+     */
+    public DurableBinaryTreeCustom(Path directory, Comparator<? super K> comparator, EntryCodec<K, V> codec,
+                                   SyncPolicy syncPolicy, int batchSize, int snapshotInterval) throws IOException {
+        if ((batchSize <= 0) || (snapshotInterval < 0)) {
+            throw new IllegalArgumentException("Illegal batch size: " + batchSize
+                    + " or snapshot interval: " + snapshotInterval);
+        }
+        this.directory = directory;
+        this.codec = codec;
+        this.syncPolicy = syncPolicy;
+        this.batchSize = batchSize;
+        this.snapshotInterval = snapshotInterval;
+        
+        Files.createDirectories(directory);
+        this.tree = loadSnapshot(comparator);
+        logChannel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replayLog();
+        } catch (IOException | RuntimeException e) {
+            logChannel.close();
+            throw e;
+        }
+    }
+    
+    public synchronized V get(K key) {
+        return tree.get(key);
+    }
+    
+    public void add(K key, V value) {
+        long count;
+        synchronized (this) {
+            count = appendRecord(ADD, key, value);
+            tree.add(key, value);
+        }
+        afterAppend(count);
+    }
+    
+    public void remove(K key) {
+        long count;
+        synchronized (this) {
+            count = appendRecord(REMOVE, key, null);
+            tree.remove(key);
+        }
+        afterAppend(count);
+    }
+    
+    public synchronized int size() {
+        return tree.size();
+    }
+    
+    public synchronized boolean isEmpty() {
+        return tree.isEmpty();
+    }
+    
+    /**
+     * Iterates over the in-memory tree. Like {@link BinaryTreeCustom#iterator()}
+     * it is fail-fast and must not be used while other threads write. The
+     * entries are read-only, because a value changed in place would never
+     * reach the log.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        Iterator<BinaryTreeCustom.Node<K, V>> nodes = tree.iterator();
+        return new Iterator<Map.Entry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+            
+            @Override
+            public Map.Entry<K, V> next() {
+                BinaryTreeCustom.Node<K, V> node = nodes.next();
+                return new AbstractMap.SimpleImmutableEntry<>(node.getKey(), node.getValue());
+            }
+        };
+    }
+    
+    /**
+     * Makes every write appended so far durable.
+     */
+    public void sync() throws IOException {
+        long count;
+        synchronized (this) {
+            count = appendedCount;
+        }
+        sync(count);
+    }
+    
+    /**
+     * Writes the whole tree to a new snapshot file, replaces the previous
+     * snapshot atomically and truncates the log.
+     */
+    public void snapshot() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path tempFile = directory.resolve(SNAPSHOT_TEMP_FILE);
+                try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                     DataOutputStream out = new DataOutputStream(
+                             new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                    out.writeInt(SNAPSHOT_MAGIC);
+                    out.writeInt(tree.size());
+                    for (BinaryTreeCustom.Node<K, V> node : tree) {
+                        codec.writeKey(out, node.getKey());
+                        codec.writeValue(out, node.getValue());
+                    }
+                    out.flush();
+                    channel.force(true);
+                }
+                Files.move(tempFile, directory.resolve(SNAPSHOT_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+                
+                pending.reset();
+                logChannel.truncate(0);
+                logChannel.force(true);
+                durableCount = appendedCount;
+                writesSinceSnapshot = 0;
+            }
+        }
+    }
+    
+    /**
+     * Makes the snapshot rename durable. Without this the log truncation
+     * could reach the disk before the rename, and a crash would leave the
+     * old snapshot with an empty log.
+     */
+    void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            logChannel.close();
+        }
+    }
+    
+    /**
+     * Encodes the record into the pending log buffer. Called before the
+     * change is applied to the tree, so a codec or I/O failure leaves both
+     * the tree and the log untouched.
+     */
+    private long appendRecord(byte operation, K key, V value) {
+        try {
+            recordBuffer.reset();
+            recordOut.writeByte(operation);
+            codec.writeKey(recordOut, key);
+            if (operation == ADD) {
+                codec.writeValue(recordOut, value);
+            }
+            recordOut.flush();
+            
+            crc.reset();
+            crc.update(recordBuffer.toByteArray(), 0, recordBuffer.size());
+            DataOutputStream pendingOut = new DataOutputStream(pending);
+            pendingOut.writeInt(recordBuffer.size());
+            pendingOut.writeInt((int) crc.getValue());
+            recordBuffer.writeTo(pendingOut);
+            pendingOut.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writesSinceSnapshot++;
+        return ++appendedCount;
+    }
+    
+    private void afterAppend(long count) {
+        try {
+            switch (syncPolicy) {
+                case EVERY_WRITE:
+                    sync(count);
+                    break;
+                case BATCH:
+                    if ((count - durableCount) >= batchSize) {
+                        sync(count);
+                    }
+                    break;
+                case OS:
+                    writePending(false);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown sync policy: " + syncPolicy);
+            }
+            if ((snapshotInterval > 0) && (writesSinceSnapshot >= snapshotInterval)) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void sync(long count) throws IOException {
+        synchronized (syncLock) {
+            if (durableCount >= count) {
+                return;
+            }
+            writePending(true);
+        }
+    }
+    
+    private void writePending(boolean force) throws IOException {
+        synchronized (syncLock) {
+            byte[] bytes;
+            long upTo;
+            synchronized (this) {
+                bytes = pending.toByteArray();
+                pending.reset();
+                upTo = appendedCount;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                logChannel.write(buffer, logChannel.size());
+            }
+            if (force) {
+                logChannel.force(false);
+                durableCount = upTo;
+            }
+        }
+    }
+    
+    private BinaryTreeCustom<K, V> loadSnapshot(Comparator<? super K> comparator) throws IOException {
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotFile)) {
+            return new BinaryTreeCustom<>(comparator);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a snapshot file: " + snapshotFile);
+            }
+            int count = in.readInt();
+            Iterator<Map.Entry<K, V>> entries = new Iterator<Map.Entry<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+                
+                @Override
+                public Map.Entry<K, V> next() {
+                    try {
+                        K key = codec.readKey(in);
+                        V value = codec.readValue(in);
+                        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return BinaryTreeCustom.fromSorted(entries, count, comparator);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void replayLog() throws IOException {
+        long validLength = 0;
+        long fileSize = logChannel.size();
+        Path logFile = directory.resolve(LOG_FILE);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while ((validLength + RECORD_HEADER_SIZE) <= fileSize) {
+                int length = in.readInt();
+                int expectedCrc = in.readInt();
+                if ((length <= 0) || ((validLength + RECORD_HEADER_SIZE + length) > fileSize)) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+                applyRecord(record);
+                validLength += RECORD_HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            // torn record at the end of the log, discarded below
+        }
+        if (validLength < fileSize) {
+            logChannel.truncate(validLength);
+            logChannel.force(true);
+        }
+    }
+    
+    private void applyRecord(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte operation = in.readByte();
+        K key = codec.readKey(in);
+        if (operation == ADD) {
+            tree.add(key, codec.readValue(in));
+        } else if (operation == REMOVE) {
+            tree.remove(key);
+        } else {
+            throw new IOException("Unknown log operation: " + operation);
+        }
+    }
+    
+    public enum SyncPolicy {
+        EVERY_WRITE, BATCH, OS
+    }
+    
+    /**
+     * Serializes keys and values for the log and snapshot files.
+     */
+    public interface EntryCodec<K, V> {
+        void writeKey(DataOutput out, K key) throws IOException;
+        
+        K readKey(DataInput in) throws IOException;
+        
+        void writeValue(DataOutput out, V value) throws IOException;
+        
+        V readValue(DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,308 @@
+package com.dubatovka.collection;
+
+/**
+ * Hash map with linear probing over parallel hash/key/value arrays. Growing
+ * the table is incremental: the old table stays readable while every write
+ * moves a few of its slots to the new one. When a probe run gets too long,
+ * Comparable keys overflow into a {@link BinaryTreeCustom} bin kept for
+ * their home slot, so colliding hashes cost O(log n) instead of O(n). A
+ * key whose ordering ties with a different key already in the bin, such as
+ * {@code new BigDecimal("1.0")} and {@code new BigDecimal("1.00")}, stays
+ * in the probe run instead. Null keys are not permitted.
+ */
+public class HashMapCustom<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INCREASE_CAPACITY_COEFFICIENT = 2;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIGRATION_STEP = 8;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final Object TOMBSTONE = new Object();
+    private static final Object NOT_FOUND = new Object();
+    
+    private Table<K, V> table;
+    private Table<K, V> oldTable;
+    private int migrationIndex;
+    private int size;
+    
+    public HashMapCustom() {
+        this.table = new Table<>(INITIAL_CAPACITY);
+    }
+    
+    public HashMapCustom(int initCapacity) {
+        if (initCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initCapacity);
+        }
+        int capacity = INITIAL_CAPACITY;
+        while ((capacity < MAX_CAPACITY) && ((capacity >> 1) < initCapacity)) {
+            capacity <<= 1;
+        }
+        this.table = new Table<>(capacity);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object value = find(key);
+        return (value == NOT_FOUND) ? null : (V) value;
+    }
+    
+    public boolean containsKey(K key) {
+        return find(key) != NOT_FOUND;
+    }
+    
+    public void add(K key, V value) {
+        int hash = hash(key);
+        migrate();
+        if (table.replace(key, hash, value)) {
+            return;
+        }
+        if ((oldTable != null) && (oldTable.remove(key, hash, true) != NOT_FOUND)) {
+            size--;
+        }
+        if (size >= (table.keys.length >> 1)) {
+            increaseCapacity();
+        }
+        table.insert(key, hash, value);
+        size++;
+    }
+    
+    public void remove(K key) {
+        int hash = hash(key);
+        migrate();
+        boolean removed = table.remove(key, hash, false) != NOT_FOUND;
+        if (!removed && (oldTable != null)) {
+            removed = oldTable.remove(key, hash, true) != NOT_FOUND;
+        }
+        if (removed) {
+            size--;
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    private Object find(K key) {
+        int hash = hash(key);
+        Object value = table.find(key, hash);
+        if ((value == NOT_FOUND) && (oldTable != null)) {
+            value = oldTable.find(key, hash);
+        }
+        return value;
+    }
+    
+    private void increaseCapacity() {
+        while (oldTable != null) {
+            migrate();
+        }
+        int capacity = table.keys.length;
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Map too big");
+        }
+        oldTable = table;
+        table = new Table<>(capacity * INCREASE_CAPACITY_COEFFICIENT);
+        migrationIndex = 0;
+    }
+    
+    /**
+     * Moves the next few slots of the old table, together with their
+     * overflow bins, into the current one. Moved slots become tombstones so
+     * that probe runs through them stay intact for keys not yet moved.
+     */
+    @SuppressWarnings("unchecked")
+    private void migrate() {
+        Table<K, V> old = oldTable;
+        if (old == null) {
+            return;
+        }
+        int end = Math.min(migrationIndex + MIGRATION_STEP, old.keys.length);
+        for (int i = migrationIndex; i < end; i++) {
+            Object key = old.keys[i];
+            if ((key != null) && (key != TOMBSTONE)) {
+                table.insert((K) key, old.hashes[i], (V) old.values[i]);
+                old.keys[i] = TOMBSTONE;
+                old.values[i] = null;
+            }
+            if ((old.bins != null) && (old.bins[i] != null)) {
+                for (BinaryTreeCustom.Node<K, V> node : old.bins[i]) {
+                    table.insert(node.getKey(), hash(node.getKey()), node.getValue());
+                }
+                old.bins[i] = null;
+            }
+        }
+        migrationIndex = end;
+        if (end == old.keys.length) {
+            oldTable = null;
+        }
+    }
+    
+    private static int hash(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted.");
+        }
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object k1, Object k2) {
+        Class<?> c1 = k1.getClass();
+        Class<?> c2 = k2.getClass();
+        if (c1 != c2) {
+            return c1.getName().compareTo(c2.getName());
+        }
+        return ((Comparable) k1).compareTo(k2);
+    }
+    
+    private static final class Table<K, V> {
+        private final int[] hashes;
+        private final Object[] keys;
+        private final Object[] values;
+        private final int mask;
+        private BinaryTreeCustom<K, V>[] bins;
+        
+        private Table(int capacity) {
+            this.hashes = new int[capacity];
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+        
+        private Object find(Object key, int hash) {
+            int home = hash & mask;
+            BinaryTreeCustom.Node<K, V> binNode = findInBin(key, home);
+            if (binNode != null) {
+                return binNode.getValue();
+            }
+            int i = indexOf(key, hash);
+            return (i >= 0) ? values[i] : NOT_FOUND;
+        }
+        
+        private boolean replace(K key, int hash, V value) {
+            int home = hash & mask;
+            BinaryTreeCustom.Node<K, V> binNode = findInBin(key, home);
+            if (binNode != null) {
+                binNode.setValue(value);
+                return true;
+            }
+            int i = indexOf(key, hash);
+            if (i >= 0) {
+                values[i] = value;
+                return true;
+            }
+            return false;
+        }
+        
+        /**
+         * Inserts a key known to be absent. A key whose probe run reaches
+         * {@code TREEIFY_THRESHOLD} goes to its home slot's bin instead,
+         * unless the bin holds a different key that compares equal to it.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void insert(K key, int hash, V value) {
+            int home = hash & mask;
+            int i = home;
+            for (int distance = 0; (keys[i] != null) && (keys[i] != TOMBSTONE); distance++) {
+                if ((distance >= TREEIFY_THRESHOLD) && (key instanceof Comparable) && !tiesInBin(key, home)) {
+                    if (bins == null) {
+                        bins = new BinaryTreeCustom[keys.length];
+                    }
+                    if (bins[home] == null) {
+                        bins[home] = new BinaryTreeCustom<>(HashMapCustom::compareKeys);
+                    }
+                    bins[home].add(key, value);
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            keys[i] = key;
+            values[i] = value;
+        }
+        
+        /**
+         * Removes the key and returns its value, or {@code NOT_FOUND}. The
+         * current table closes the gap by shifting the rest of the probe run
+         * back; a table being migrated leaves a tombstone instead, because
+         * shifting could move keys behind the migration index.
+         */
+        @SuppressWarnings("unchecked")
+        private Object remove(Object key, int hash, boolean tombstone) {
+            int home = hash & mask;
+            BinaryTreeCustom.Node<K, V> binNode = findInBin(key, home);
+            if (binNode != null) {
+                V value = binNode.getValue();
+                bins[home].remove((K) key);
+                if (bins[home].isEmpty()) {
+                    bins[home] = null;
+                }
+                return value;
+            }
+            int i = indexOf(key, hash);
+            if (i < 0) {
+                return NOT_FOUND;
+            }
+            Object value = values[i];
+            values[i] = null;
+            if (tombstone) {
+                keys[i] = TOMBSTONE;
+            } else {
+                keys[i] = null;
+                shiftBack(i);
+            }
+            return value;
+        }
+        
+        private void shiftBack(int gap) {
+            int j = gap;
+            while (true) {
+                j = (j + 1) & mask;
+                if (keys[j] == null) {
+                    return;
+                }
+                int home = hashes[j] & mask;
+                boolean canMove = (gap <= j) ? ((home <= gap) || (home > j)) : ((home <= gap) && (home > j));
+                if (canMove) {
+                    hashes[gap] = hashes[j];
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    keys[j] = null;
+                    values[j] = null;
+                    gap = j;
+                }
+            }
+        }
+        
+        private int indexOf(Object key, int hash) {
+            int i = hash & mask;
+            Object k;
+            while ((k = keys[i]) != null) {
+                if ((k != TOMBSTONE) && (hashes[i] == hash) && ((k == key) || key.equals(k))) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+        
+        private boolean tiesInBin(K key, int home) {
+            if ((bins == null) || (bins[home] == null)) {
+                return false;
+            }
+            BinaryTreeCustom.Node<K, V> node = bins[home].floor(key);
+            return (node != null) && (compareKeys(key, node.getKey()) == 0);
+        }
+        
+        private BinaryTreeCustom.Node<K, V> findInBin(Object key, int home) {
+            if ((bins == null) || (bins[home] == null) || !(key instanceof Comparable)) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            BinaryTreeCustom.Node<K, V> node = bins[home].floor((K) key);
+            return ((node != null) && key.equals(node.getKey())) ? node : null;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 public class LinkedListCustom<E> implements Iterable<E> {
     private static final String TEMPLATE_MESSAGE = "Index: %d, Size: %d";
@@ -12,6 +11,27 @@ public class LinkedListCustom<E> implements Iterable<E> {
     private Node<E> last;
     private int size;
     private int modificationCount = 0;
+    private Node<E> fingerNode;
+    private int fingerIndex;
+    private int fingerModificationCount = -1;
+    private final int nodePoolCapacity;
+    private Node<E> nodePool;
+    private int nodePoolSize;
+    
+    public LinkedListCustom() {
+        this.nodePoolCapacity = 0;
+    }
+    
+    /**
+     * Creates a list that recycles up to {@code nodePoolCapacity} removed
+     * nodes instead of allocating new ones, for high-churn queue use.
+     */
+    public LinkedListCustom(int nodePoolCapacity) {
+        if (nodePoolCapacity < 0) {
+            throw new IllegalArgumentException("Illegal node pool capacity: " + nodePoolCapacity);
+        }
+        this.nodePoolCapacity = nodePoolCapacity;
+    }
     
     public void add(E value) {
         linkLast(value);
@@ -50,6 +70,95 @@ public class LinkedListCustom<E> implements Iterable<E> {
         return deleteLinks(node);
     }
     
+    /**
+     * Moves all nodes of {@code other} to the end of this list in O(1),
+     * leaving {@code other} empty.
+     */
+    public void appendAll(LinkedListCustom<E> other) {
+        linkAllBefore(other, null);
+    }
+    
+    /**
+     * Moves all nodes of {@code other} into this list just before the
+     * iterator's cursor, leaving {@code other} empty. The iterator must
+     * belong to this list; it stays valid and is positioned after the
+     * spliced nodes.
+     */
+    public void spliceBefore(ListIterator<E> position, LinkedListCustom<E> other) {
+        if (!(position instanceof LinkedListCustom.ListIteratorCustom)) {
+            throw new IllegalArgumentException("Iterator does not belong to this list.");
+        }
+        @SuppressWarnings("unchecked")
+        ListIteratorCustom iterator = (ListIteratorCustom) position;
+        if (iterator.list() != this) {
+            throw new IllegalArgumentException("Iterator does not belong to this list.");
+        }
+        iterator.splice(other);
+    }
+    
+    /**
+     * Detaches the elements from {@code index} to the end into a new list
+     * without copying. Only locating the boundary node costs a walk.
+     */
+    public LinkedListCustom<E> splitAt(int index) {
+        checkPositionIndex(index);
+        LinkedListCustom<E> tail = new LinkedListCustom<>(nodePoolCapacity);
+        if (index == size) {
+            return tail;
+        }
+        
+        Node<E> first = getNode(index);
+        Node<E> previous = first.previous;
+        tail.head = first;
+        tail.last = last;
+        tail.size = size - index;
+        first.previous = null;
+        if (previous == null) {
+            head = null;
+        } else {
+            previous.next = null;
+        }
+        last = previous;
+        size = index;
+        modificationCount++;
+        return tail;
+    }
+    
+    /**
+     * Node-level hooks for {@link LruCacheCustom}, which keeps its own index
+     * of nodes. A node handle is valid until it is removed.
+     */
+    Node<E> addFirstNode(E value) {
+        return linkFirst(value);
+    }
+    
+    Node<E> lastNode() {
+        return last;
+    }
+    
+    void moveToFront(Node<E> node) {
+        if (node == head) {
+            return;
+        }
+        Node<E> previous = node.previous;
+        Node<E> next = node.next;
+        previous.next = next;
+        if (next == null) {
+            last = previous;
+        } else {
+            next.previous = previous;
+        }
+        node.previous = null;
+        node.next = head;
+        head.previous = node;
+        head = node;
+        modificationCount++;
+    }
+    
+    E removeNode(Node<E> node) {
+        return deleteLinks(node);
+    }
+    
     public int size() {
         return size;
     }
@@ -68,16 +177,37 @@ public class LinkedListCustom<E> implements Iterable<E> {
     }
     
     private Node<E> getNode(int index) {
-        Node<E> x = head;
-        for (int i = 0; i < index; i++) {
+        Node<E> x;
+        int from;
+        if (index < (size >> 1)) {
+            x = head;
+            from = 0;
+        } else {
+            x = last;
+            from = size - 1;
+        }
+        boolean fingerValid = fingerModificationCount == modificationCount;
+        if (fingerValid && (Math.abs(index - fingerIndex) < Math.abs(index - from))) {
+            x = fingerNode;
+            from = fingerIndex;
+        }
+        
+        for (int i = from; i < index; i++) {
             x = x.next;
         }
+        for (int i = from; i > index; i--) {
+            x = x.previous;
+        }
+        
+        fingerNode = x;
+        fingerIndex = index;
+        fingerModificationCount = modificationCount;
         return x;
     }
     
-    private void linkFirst(E value) {
+    private Node<E> linkFirst(E value) {
         Node<E> hd = head;
-        Node<E> newNode = new Node<>(null, value, hd);
+        Node<E> newNode = newNode(null, value, hd);
         head = newNode;
         if (hd == null) {
             last = newNode;
@@ -86,11 +216,12 @@ public class LinkedListCustom<E> implements Iterable<E> {
         }
         size++;
         modificationCount++;
+        return newNode;
     }
     
     private void linkLast(E value) {
         Node<E> lst = last;
-        Node<E> newNode = new Node<>(last, value, null);
+        Node<E> newNode = newNode(last, value, null);
         last = newNode;
         if (lst == null) {
             head = newNode;
@@ -103,7 +234,7 @@ public class LinkedListCustom<E> implements Iterable<E> {
     
     private void linkBefore(E value, Node<E> nodeBefore) {
         Node<E> prev = nodeBefore.previous;
-        Node<E> newNode = new Node<>(prev, value, nodeBefore);
+        Node<E> newNode = newNode(prev, value, nodeBefore);
         nodeBefore.previous = newNode;
         if (prev == null) {
             head = newNode;
@@ -114,6 +245,40 @@ public class LinkedListCustom<E> implements Iterable<E> {
         modificationCount++;
     }
     
+    private int linkAllBefore(LinkedListCustom<E> other, Node<E> nodeBefore) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into itself.");
+        }
+        int count = other.size;
+        if (count == 0) {
+            return 0;
+        }
+        
+        Node<E> first = other.head;
+        Node<E> lst = other.last;
+        Node<E> prev = (nodeBefore == null) ? last : nodeBefore.previous;
+        first.previous = prev;
+        lst.next = nodeBefore;
+        if (prev == null) {
+            head = first;
+        } else {
+            prev.next = first;
+        }
+        if (nodeBefore == null) {
+            last = lst;
+        } else {
+            nodeBefore.previous = lst;
+        }
+        size += count;
+        modificationCount++;
+        
+        other.head = null;
+        other.last = null;
+        other.size = 0;
+        other.modificationCount++;
+        return count;
+    }
+    
     private E deleteLinks(Node<E> nodeToDelete) {
         E data = nodeToDelete.data;
         Node<E> next = nodeToDelete.next;
@@ -134,12 +299,34 @@ public class LinkedListCustom<E> implements Iterable<E> {
         nodeToDelete.data = null;
         nodeToDelete.previous = null;
         nodeToDelete.next = null;
+        recycle(nodeToDelete);
         
         size--;
         modificationCount++;
         return data;
     }
     
+    private Node<E> newNode(Node<E> previous, E value, Node<E> next) {
+        Node<E> node = nodePool;
+        if (node == null) {
+            return new Node<>(previous, value, next);
+        }
+        nodePool = node.next;
+        nodePoolSize--;
+        node.previous = previous;
+        node.data = value;
+        node.next = next;
+        return node;
+    }
+    
+    private void recycle(Node<E> node) {
+        if (nodePoolSize < nodePoolCapacity) {
+            node.next = nodePool;
+            nodePool = node;
+            nodePoolSize++;
+        }
+    }
+    
     private void checkPositionIndex(int index) {
         boolean wrong = (index < 0) || (index > size);
         if (wrong) {
@@ -156,7 +343,7 @@ public class LinkedListCustom<E> implements Iterable<E> {
         }
     }
     
-    private static class Node<E> {
+    static class Node<E> {
         private E data;
         private Node<E> next;
         private Node<E> previous;
@@ -167,6 +354,10 @@ public class LinkedListCustom<E> implements Iterable<E> {
             this.previous = previous;
         }
         
+        E getData() {
+            return data;
+        }
+        
         @Override
         public boolean equals(Object obj) {
             if (this == obj) return true;
@@ -238,7 +429,7 @@ public class LinkedListCustom<E> implements Iterable<E> {
                 lastReturned = last;
             } else {
                 nextToReturn = nextToReturn.previous;
-                lastReturned = nextToReturn.previous;
+                lastReturned = nextToReturn;
             }
             E data = lastReturned.data;
             nextIndex--;
@@ -255,7 +446,7 @@ public class LinkedListCustom<E> implements Iterable<E> {
             Node<E> lastNext = lastReturned.next;
             deleteLinks(lastReturned);
             expectedModificationCount++;
-            if (Objects.equals(nextToReturn, lastReturned)) {
+            if (nextToReturn == lastReturned) {
                 nextToReturn = lastNext;
             } else {
                 nextIndex--;
@@ -295,6 +486,17 @@ public class LinkedListCustom<E> implements Iterable<E> {
             expectedModificationCount++;
         }
         
+        private void splice(LinkedListCustom<E> other) {
+            checkForOuterModification();
+            lastReturned = null;
+            nextIndex += linkAllBefore(other, nextToReturn);
+            expectedModificationCount = modificationCount;
+        }
+        
+        private LinkedListCustom<E> list() {
+            return LinkedListCustom.this;
+        }
+        
         private void checkForOuterModification() {
             if (modificationCount != expectedModificationCount) {
                 throw new ConcurrentModificationException();
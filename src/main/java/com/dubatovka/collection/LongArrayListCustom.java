@@ -0,0 +1,157 @@
+package com.dubatovka.collection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class LongArrayListCustom implements Iterable<Long> {
+    private static final int INITIAL_CAPACITY = 10;
+    private static final int INCREASE_CAPACITY_COEFFICIENT = 2;
+    private int size = 0;
+    private long[] elementData;
+    private int modificationCount = 0;
+    
+    public LongArrayListCustom() {
+        this.elementData = new long[INITIAL_CAPACITY];
+    }
+    
+    public LongArrayListCustom(int initCapacity) {
+        if (initCapacity > 0) {
+            elementData = new long[initCapacity];
+        } else if (initCapacity == 0) {
+            elementData = new long[INITIAL_CAPACITY];
+        } else {
+            throw new IllegalArgumentException("Illegal Capacity: " + initCapacity);
+        }
+    }
+    
+    public void add(long value) {
+        modificationCount++;
+        ensureCapacity();
+        elementData[size] = value;
+        size++;
+    }
+    
+    public void add(int index, long value) {
+        rangeCheckForAdd(index);
+        modificationCount++;
+        ensureCapacity();
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = value;
+        size++;
+    }
+    
+    public void set(int index, long value) {
+        rangeCheck(index);
+        elementData[index] = value;
+    }
+    
+    public long get(int index) {
+        rangeCheck(index);
+        return elementData[index];
+    }
+    
+    public long remove(int index) {
+        rangeCheck(index);
+        modificationCount++;
+        
+        long removedElement = elementData[index];
+        
+        int numMoved = size - 1 - index;
+        if (numMoved > 0) {
+            System.arraycopy(elementData, index + 1, elementData, index, numMoved);
+        }
+        --size;
+        return removedElement;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long[] toArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+    
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new IteratorCustom();
+    }
+    
+    private void rangeCheck(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void rangeCheckForAdd(int index) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void ensureCapacity() {
+        if (size == elementData.length) {
+            increaseCapacity();
+        }
+    }
+    
+    private void increaseCapacity() {
+        int newIncreasedCapacity = elementData.length * INCREASE_CAPACITY_COEFFICIENT;
+        elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
+    }
+    
+    private final class IteratorCustom implements PrimitiveIterator.OfLong {
+        private int nextToReturn = 0;
+        private int lastReturned = -1;
+        private int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != size();
+        }
+        
+        @Override
+        public long nextLong() {
+            checkForOuterModification();
+            int i = nextToReturn;
+            if (i >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = i;
+            nextToReturn = i + 1;
+            return elementData[i];
+        }
+        
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("There is no element to remove.");
+            }
+            checkForOuterModification();
+            
+            try {
+                LongArrayListCustom.this.remove(lastReturned);
+                if (lastReturned < nextToReturn) {
+                    nextToReturn -= 1;
+                }
+                lastReturned = -1;
+                expectedModificationCount = modificationCount;
+            } catch (IndexOutOfBoundsException e) {
+                String message = e.getMessage();
+                throw new ConcurrentModificationException(message);
+            }
+        }
+        
+        void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
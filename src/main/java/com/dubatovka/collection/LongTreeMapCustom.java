@@ -0,0 +1,491 @@
+package com.dubatovka.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Red-black tree map specialized for primitive {@code long} keys. Same
+ * algorithm as {@link BinaryTreeCustom}, but keys are stored in a
+ * {@code long} field of the node and compared directly, so lookups, updates
+ * and range scans neither box keys nor call a comparator.
+ * <p>
+ * The insert, delete and rebalancing code is deliberately a copy of
+ * {@link BinaryTreeCustom}'s rather than shared with it. Sharing would need
+ * either generic nodes, which box the key, or a key-comparison callback,
+ * which puts a call back on every step of the search path instead of a
+ * primitive comparison. {@code TreeLookupBenchmark} measures the gain
+ * against {@code BinaryTreeCustom<Long, Long>}. A fix to the balancing
+ * logic of either class has to be made in both.
+ */
+public class LongTreeMapCustom<V> implements Iterable<LongTreeMapCustom.Node<V>> {
+    private static final boolean RED = false;
+    private static final boolean BLACK = true;
+    
+    private Node<V> root;
+    private int size;
+    private int modificationCount = 0;
+    
+    public V get(long key) {
+        Node<V> node = getNode(key);
+        return (node == null) ? null : node.value;
+    }
+    
+    public boolean containsKey(long key) {
+        return getNode(key) != null;
+    }
+    
+    public void add(long key, V value) {
+        Node<V> x = root;
+        Node<V> y = null;
+        while (x != null) {
+            if (key == x.key) {
+                x.value = value;
+                return;
+            }
+            y = x;
+            x = (key < x.key) ? x.left : x.right;
+        }
+        
+        modificationCount++;
+        Node<V> newNode = new Node<>(key, value, y);
+        if (y == null) {
+            root = newNode;
+        } else if (key < y.key) {
+            y.left = newNode;
+        } else {
+            y.right = newNode;
+        }
+        fixAfterInsertion(newNode);
+        size++;
+    }
+    
+    public void remove(long key) {
+        Node<V> x = getNode(key);
+        if (x != null) {
+            unlinkNode(x);
+        }
+    }
+    
+    public Node<V> floor(long key) {
+        Node<V> x = root;
+        Node<V> candidate = null;
+        while (x != null) {
+            if (key == x.key) {
+                return x;
+            } else if (key > x.key) {
+                candidate = x;
+                x = x.right;
+            } else {
+                x = x.left;
+            }
+        }
+        return candidate;
+    }
+    
+    public Node<V> ceiling(long key) {
+        Node<V> x = root;
+        Node<V> candidate = null;
+        while (x != null) {
+            if (key == x.key) {
+                return x;
+            } else if (key < x.key) {
+                candidate = x;
+                x = x.left;
+            } else {
+                x = x.right;
+            }
+        }
+        return candidate;
+    }
+    
+    public long firstKey() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return getFirstInOrderNode(root).key;
+    }
+    
+    public long lastKey() {
+        Node<V> x = root;
+        if (x == null) {
+            throw new NoSuchElementException();
+        }
+        while (x.right != null) {
+            x = x.right;
+        }
+        return x.key;
+    }
+    
+    /**
+     * Returns the nodes with keys in {@code [fromKey, toKey)} in key order.
+     */
+    public Iterable<Node<V>> subMap(long fromKey, long toKey) {
+        checkRange(fromKey, toKey);
+        return () -> new IteratorCustom(ceiling(fromKey), toKey, false);
+    }
+    
+    /**
+     * Passes every entry with a key in {@code [fromKey, toKey)} to
+     * {@code action} in key order, without allocating per entry.
+     */
+    public void forEachInRange(long fromKey, long toKey, EntryConsumer<? super V> action) {
+        checkRange(fromKey, toKey);
+        int expectedModificationCount = modificationCount;
+        for (Node<V> x = ceiling(fromKey); (x != null) && (x.key < toKey); x = getNextInOrderNode(x)) {
+            action.accept(x.key, x.value);
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public Iterator<Node<V>> iterator() {
+        Node<V> first = (root == null) ? null : getFirstInOrderNode(root);
+        return new IteratorCustom(first, 0, true);
+    }
+    
+    /**
+     * Checks red-black properties of the tree and returns its black height.
+     * Used by tests to verify that the tree stays balanced.
+     */
+    int checkRedBlackProperties() {
+        if (colorOf(root) != BLACK) {
+            throw new IllegalStateException("Root is not black.");
+        }
+        return checkRedBlackProperties(root);
+    }
+    
+    private int checkRedBlackProperties(Node<V> x) {
+        if (x == null) {
+            return 1;
+        }
+        if ((x.left != null) && ((x.left.parent != x) || (x.left.key >= x.key))) {
+            throw new IllegalStateException("Left child is broken at " + x.key);
+        }
+        if ((x.right != null) && ((x.right.parent != x) || (x.right.key <= x.key))) {
+            throw new IllegalStateException("Right child is broken at " + x.key);
+        }
+        if ((x.color == RED) && ((colorOf(x.left) == RED) || (colorOf(x.right) == RED))) {
+            throw new IllegalStateException("Red node has a red child at " + x.key);
+        }
+        int leftBlackHeight = checkRedBlackProperties(x.left);
+        if (leftBlackHeight != checkRedBlackProperties(x.right)) {
+            throw new IllegalStateException("Black heights differ at " + x.key);
+        }
+        return leftBlackHeight + ((x.color == BLACK) ? 1 : 0);
+    }
+    
+    private static void checkRange(long fromKey, long toKey) {
+        if (fromKey > toKey) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+    }
+    
+    private Node<V> getNode(long key) {
+        Node<V> x = root;
+        while (x != null) {
+            if (key == x.key) {
+                return x;
+            }
+            x = (key < x.key) ? x.left : x.right;
+        }
+        return null;
+    }
+    
+    private void unlinkNode(Node<V> x) {
+        modificationCount++;
+        size--;
+        
+        if ((x.left != null) && (x.right != null)) {
+            Node<V> leftMost = getFirstInOrderNode(x.right);
+            x.key = leftMost.key;
+            x.value = leftMost.value;
+            x = leftMost;
+        }
+        
+        Node<V> replacement = (x.left != null) ? x.left : x.right;
+        if (replacement != null) {
+            replacement.parent = x.parent;
+            if (x.parent == null) {
+                root = replacement;
+            } else if (x == x.parent.left) {
+                x.parent.left = replacement;
+            } else {
+                x.parent.right = replacement;
+            }
+            x.left = null;
+            x.right = null;
+            x.parent = null;
+            if (x.color == BLACK) {
+                fixAfterDeletion(replacement);
+            }
+        } else if (x.parent == null) {
+            root = null;
+        } else {
+            if (x.color == BLACK) {
+                fixAfterDeletion(x);
+            }
+            if (x.parent != null) {
+                if (x == x.parent.left) {
+                    x.parent.left = null;
+                } else if (x == x.parent.right) {
+                    x.parent.right = null;
+                }
+                x.parent = null;
+            }
+        }
+    }
+    
+    private void fixAfterInsertion(Node<V> x) {
+        x.color = RED;
+        while ((x != null) && (x != root) && (x.parent.color == RED)) {
+            if (parentOf(x) == leftOf(parentOf(parentOf(x)))) {
+                Node<V> uncle = rightOf(parentOf(parentOf(x)));
+                if (colorOf(uncle) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == rightOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateLeft(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateRight(parentOf(parentOf(x)));
+                }
+            } else {
+                Node<V> uncle = leftOf(parentOf(parentOf(x)));
+                if (colorOf(uncle) == RED) {
+                    setColor(parentOf(x), BLACK);
+                    setColor(uncle, BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    x = parentOf(parentOf(x));
+                } else {
+                    if (x == leftOf(parentOf(x))) {
+                        x = parentOf(x);
+                        rotateRight(x);
+                    }
+                    setColor(parentOf(x), BLACK);
+                    setColor(parentOf(parentOf(x)), RED);
+                    rotateLeft(parentOf(parentOf(x)));
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+    
+    private void fixAfterDeletion(Node<V> x) {
+        while ((x != root) && (colorOf(x) == BLACK)) {
+            if (x == leftOf(parentOf(x))) {
+                Node<V> sibling = rightOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateLeft(parentOf(x));
+                    sibling = rightOf(parentOf(x));
+                }
+                if ((colorOf(leftOf(sibling)) == BLACK) && (colorOf(rightOf(sibling)) == BLACK)) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(rightOf(sibling)) == BLACK) {
+                        setColor(leftOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateRight(sibling);
+                        sibling = rightOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(rightOf(sibling), BLACK);
+                    rotateLeft(parentOf(x));
+                    x = root;
+                }
+            } else {
+                Node<V> sibling = leftOf(parentOf(x));
+                if (colorOf(sibling) == RED) {
+                    setColor(sibling, BLACK);
+                    setColor(parentOf(x), RED);
+                    rotateRight(parentOf(x));
+                    sibling = leftOf(parentOf(x));
+                }
+                if ((colorOf(rightOf(sibling)) == BLACK) && (colorOf(leftOf(sibling)) == BLACK)) {
+                    setColor(sibling, RED);
+                    x = parentOf(x);
+                } else {
+                    if (colorOf(leftOf(sibling)) == BLACK) {
+                        setColor(rightOf(sibling), BLACK);
+                        setColor(sibling, RED);
+                        rotateLeft(sibling);
+                        sibling = leftOf(parentOf(x));
+                    }
+                    setColor(sibling, colorOf(parentOf(x)));
+                    setColor(parentOf(x), BLACK);
+                    setColor(leftOf(sibling), BLACK);
+                    rotateRight(parentOf(x));
+                    x = root;
+                }
+            }
+        }
+        setColor(x, BLACK);
+    }
+    
+    private void rotateLeft(Node<V> p) {
+        if (p != null) {
+            Node<V> r = p.right;
+            p.right = r.left;
+            if (r.left != null) {
+                r.left.parent = p;
+            }
+            r.parent = p.parent;
+            if (p.parent == null) {
+                root = r;
+            } else if (p.parent.left == p) {
+                p.parent.left = r;
+            } else {
+                p.parent.right = r;
+            }
+            r.left = p;
+            p.parent = r;
+        }
+    }
+    
+    private void rotateRight(Node<V> p) {
+        if (p != null) {
+            Node<V> l = p.left;
+            p.left = l.right;
+            if (l.right != null) {
+                l.right.parent = p;
+            }
+            l.parent = p.parent;
+            if (p.parent == null) {
+                root = l;
+            } else if (p.parent.right == p) {
+                p.parent.right = l;
+            } else {
+                p.parent.left = l;
+            }
+            l.right = p;
+            p.parent = l;
+        }
+    }
+    
+    private static <V> boolean colorOf(Node<V> p) {
+        return (p == null) ? BLACK : p.color;
+    }
+    
+    private static <V> Node<V> parentOf(Node<V> p) {
+        return (p == null) ? null : p.parent;
+    }
+    
+    private static <V> void setColor(Node<V> p, boolean color) {
+        if (p != null) {
+            p.color = color;
+        }
+    }
+    
+    private static <V> Node<V> leftOf(Node<V> p) {
+        return (p == null) ? null : p.left;
+    }
+    
+    private static <V> Node<V> rightOf(Node<V> p) {
+        return (p == null) ? null : p.right;
+    }
+    
+    private static <V> Node<V> getFirstInOrderNode(Node<V> x) {
+        while (x.left != null) {
+            x = x.left;
+        }
+        return x;
+    }
+    
+    private static <V> Node<V> getNextInOrderNode(Node<V> x) {
+        if (x.right != null) {
+            return getFirstInOrderNode(x.right);
+        }
+        Node<V> parent = x.parent;
+        while ((parent != null) && (x == parent.right)) {
+            x = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+    
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+    
+    public static final class Node<V> {
+        private long key;
+        private V value;
+        private Node<V> parent;
+        private Node<V> left;
+        private Node<V> right;
+        private boolean color = BLACK;
+        
+        private Node(long key, V value, Node<V> parent) {
+            this.key = key;
+            this.value = value;
+            this.parent = parent;
+        }
+        
+        public long getKey() {
+            return key;
+        }
+        
+        public V getValue() {
+            return value;
+        }
+        
+        public void setValue(V value) {
+            this.value = value;
+        }
+    }
+    
+    private final class IteratorCustom implements Iterator<Node<V>> {
+        private Node<V> nextToReturn;
+        private final long toKey;
+        private final boolean toEnd;
+        private final int expectedModificationCount = modificationCount;
+        
+        private IteratorCustom(Node<V> first, long toKey, boolean toEnd) {
+            this.toKey = toKey;
+            this.toEnd = toEnd;
+            nextToReturn = checkUpperBound(first);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != null;
+        }
+        
+        @Override
+        public Node<V> next() {
+            Node<V> e = nextToReturn;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            nextToReturn = checkUpperBound(getNextInOrderNode(e));
+            return e;
+        }
+        
+        private Node<V> checkUpperBound(Node<V> node) {
+            boolean beyondBound = !toEnd && (node != null) && (node.key >= toKey);
+            return beyondBound ? null : node;
+        }
+    }
+}
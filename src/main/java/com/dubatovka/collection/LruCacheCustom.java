@@ -0,0 +1,258 @@
+package com.dubatovka.collection;
+
+/**
+ * Bounded cache that keeps entries in a {@link LinkedListCustom} ordered
+ * from most to least recently used, with a {@link HashMapCustom} index to
+ * the list nodes. Hits move their node to the front and eviction takes the
+ * last node, both in O(1). The bound is an entry count or a total weight.
+ * With {@link AdmissionPolicy#TINY_LFU} a new entry that would force an
+ * eviction is admitted only if it has been requested more often than the
+ * entry it would evict. Null keys and values are not permitted.
+ */
+public class LruCacheCustom<K, V> {
+    private final LinkedListCustom<Entry<K, V>> entries = new LinkedListCustom<>();
+    private final HashMapCustom<K, LinkedListCustom.Node<Entry<K, V>>> index = new HashMapCustom<>();
+    private final ArrayListCustom<EvictionListener<? super K, ? super V>> listeners = new ArrayListCustom<>();
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final FrequencySketch sketch;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    
+    public LruCacheCustom(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, AdmissionPolicy.NONE);
+    }
+    
+    /**
+     * Creates a cache bounded by total weight. The TinyLFU sketch is sized
+     * for {@code maximumWeight} entries, capped, which fits unit weights;
+     * use the constructor with {@code expectedEntries} when entries weigh
+     * more than one.
+     */
+    public LruCacheCustom(long maximumWeight, Weigher<? super K, ? super V> weigher, AdmissionPolicy admissionPolicy) {
+        this(maximumWeight, weigher, admissionPolicy, (int) Math.min(maximumWeight, FrequencySketch.MAX_ENTRIES));
+    }
+    
+    public LruCacheCustom(long maximumWeight, Weigher<? super K, ? super V> weigher, AdmissionPolicy admissionPolicy,
+                          int expectedEntries) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+        }
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Illegal expected entries: " + expectedEntries);
+        }
+        if ((weigher == null) || (admissionPolicy == null)) {
+            throw new NullPointerException();
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.sketch = (admissionPolicy == AdmissionPolicy.TINY_LFU) ? new FrequencySketch(expectedEntries) : null;
+    }
+    
+    public V get(K key) {
+        LinkedListCustom.Node<Entry<K, V>> node = index.get(key);
+        recordAccess(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        entries.moveToFront(node);
+        return node.getData().value;
+    }
+    
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not permitted.");
+        }
+        int entryWeight = weigher.weigh(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Illegal weight: " + entryWeight);
+        }
+        recordAccess(key);
+        
+        LinkedListCustom.Node<Entry<K, V>> node = index.get(key);
+        if (node != null) {
+            Entry<K, V> entry = node.getData();
+            weight += entryWeight - entry.weight;
+            entry.value = value;
+            entry.weight = entryWeight;
+            entries.moveToFront(node);
+        } else {
+            if (!admit(key, entryWeight)) {
+                evictionCount++;
+                notifyListeners(key, value);
+                return;
+            }
+            index.add(key, entries.addFirstNode(new Entry<>(key, value, entryWeight)));
+            weight += entryWeight;
+        }
+        evictUntilFits();
+    }
+    
+    public void remove(K key) {
+        LinkedListCustom.Node<Entry<K, V>> node = index.get(key);
+        if (node != null) {
+            index.remove(key);
+            weight -= entries.removeNode(node).weight;
+        }
+    }
+    
+    public void addEvictionListener(EvictionListener<? super K, ? super V> listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        listeners.add(listener);
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long weight() {
+        return weight;
+    }
+    
+    public long hitCount() {
+        return hitCount;
+    }
+    
+    public long missCount() {
+        return missCount;
+    }
+    
+    public long evictionCount() {
+        return evictionCount;
+    }
+    
+    private boolean admit(K key, int entryWeight) {
+        if (entryWeight > maximumWeight) {
+            return false;
+        }
+        boolean mustEvict = (weight + entryWeight) > maximumWeight;
+        if ((sketch == null) || !mustEvict || entries.isEmpty()) {
+            return true;
+        }
+        K victimKey = entries.lastNode().getData().key;
+        return sketch.frequency(key) > sketch.frequency(victimKey);
+    }
+    
+    private void evictUntilFits() {
+        while (weight > maximumWeight) {
+            Entry<K, V> victim = entries.removeNode(entries.lastNode());
+            index.remove(victim.key);
+            weight -= victim.weight;
+            evictionCount++;
+            notifyListeners(victim.key, victim.value);
+        }
+    }
+    
+    private void recordAccess(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+    }
+    
+    private void notifyListeners(K key, V value) {
+        for (EvictionListener<? super K, ? super V> listener : listeners) {
+            listener.onEviction(key, value);
+        }
+    }
+    
+    public enum AdmissionPolicy {
+        NONE, TINY_LFU
+    }
+    
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+    
+    public interface EvictionListener<K, V> {
+        void onEviction(K key, V value);
+    }
+    
+    private static final class Entry<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        
+        private Entry(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+    
+    /**
+     * Count-min sketch of request frequencies as in TinyLFU: 4-bit counters
+     * packed sixteen to a {@code long}, four words per expected entry, which
+     * is 32 bytes per entry. A key hashes to a group of four counters in each
+     * of four words, so a lookup touches at most four words. Counters
+     * saturate at 15 and are halved after ten increments per expected entry,
+     * so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int MAX_ENTRIES = 1 << 22;
+        private static final int WORDS_PER_ENTRY = 4;
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+                0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long COUNTER_MASK = 0xfL;
+        private final long[] table;
+        private final int resetSize;
+        private int additions;
+        
+        private FrequencySketch(int expectedEntries) {
+            int entries = 16;
+            while ((entries < MAX_ENTRIES) && (entries < expectedEntries)) {
+                entries <<= 1;
+            }
+            this.table = new long[entries * WORDS_PER_ENTRY];
+            this.resetSize = entries * 10;
+        }
+        
+        private int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = (int) COUNTER_MASK;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int offset = (start + i) << 2;
+                int count = (int) ((table[indexOf(hash, i)] >>> offset) & COUNTER_MASK);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+        
+        private void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                if (((table[index] >>> offset) & COUNTER_MASK) != COUNTER_MASK) {
+                    table[index] += 1L << offset;
+                }
+            }
+            if (++additions == resetSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions >>>= 1;
+            }
+        }
+        
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & (table.length - 1);
+        }
+        
+        private static int spread(int h) {
+            h ^= h >>> 16;
+            h *= 0x45d9f3b;
+            return h ^ (h >>> 16);
+        }
+    }
+}
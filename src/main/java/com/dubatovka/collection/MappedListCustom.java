@@ -0,0 +1,199 @@
+package com.dubatovka.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent list of fixed-width records stored in a memory-mapped file.
+ * <p>
+ * The file starts with a small header (magic, record size, element count)
+ * followed by the records. Opening an existing file only maps it, so no
+ * deserialization takes place. The mapping grows in large extents, and
+ * {@link #force()} flushes the written records and the header to disk.
+ * The whole file is mapped in one region, so it is limited to 2 GiB.
+ */
+public class MappedListCustom<E> implements Iterable<E>, Closeable {
+    private static final int MAGIC = 0x4D4C4331;
+    private static final int HEADER_SIZE = 16;
+    private static final int SIZE_OFFSET = 8;
+    private static final long MIN_EXTENT = 1 << 20;
+    private static final int INCREASE_CAPACITY_COEFFICIENT = 2;
+    private final FileChannel channel;
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private MappedByteBuffer buffer;
+    private int size;
+    private int modificationCount = 0;
+    
+    public MappedListCustom(Path file, RecordCodec<E> codec) throws IOException {
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                map(HEADER_SIZE + Math.max(MIN_EXTENT, recordSize));
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, recordSize);
+                buffer.putLong(SIZE_OFFSET, 0);
+            } else {
+                map(fileSize);
+                readHeader(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    public void add(E value) {
+        modificationCount++;
+        ensureCapacity();
+        write(size, value);
+        size++;
+        buffer.putLong(SIZE_OFFSET, size);
+    }
+    
+    public void set(int index, E value) {
+        rangeCheck(index);
+        write(index, value);
+    }
+    
+    public E get(int index) {
+        rangeCheck(index);
+        buffer.position(offset(index));
+        return codec.read(buffer);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Flushes all records and the header to the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return new IteratorCustom();
+    }
+    
+    private void readHeader(Path file) throws IOException {
+        if ((buffer.capacity() < HEADER_SIZE) || (buffer.getInt(0) != MAGIC)) {
+            throw new IOException("Not a record list file: " + file);
+        }
+        int storedRecordSize = buffer.getInt(4);
+        if (storedRecordSize != recordSize) {
+            throw new IOException("Record size mismatch, file: " + storedRecordSize + ", codec: " + recordSize);
+        }
+        long storedSize = buffer.getLong(SIZE_OFFSET);
+        if ((storedSize < 0) || ((HEADER_SIZE + (storedSize * recordSize)) > buffer.capacity())) {
+            throw new IOException("Corrupted header, size: " + storedSize);
+        }
+        size = (int) storedSize;
+    }
+    
+    private void write(int index, E value) {
+        int start = offset(index);
+        buffer.position(start);
+        codec.write(buffer, value);
+        if ((buffer.position() - start) != recordSize) {
+            throw new IllegalStateException("Codec wrote " + (buffer.position() - start)
+                    + " bytes, expected " + recordSize);
+        }
+    }
+    
+    private int offset(int index) {
+        return HEADER_SIZE + (index * recordSize);
+    }
+    
+    private void rangeCheck(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Array size " + size);
+        }
+    }
+    
+    private void ensureCapacity() {
+        long required = HEADER_SIZE + (((long) size + 1) * recordSize);
+        if (required > buffer.capacity()) {
+            increaseCapacity(required);
+        }
+    }
+    
+    private void increaseCapacity(long required) {
+        long newLength = Math.max(buffer.capacity() * (long) INCREASE_CAPACITY_COEFFICIENT, required);
+        newLength = Math.min(newLength, Integer.MAX_VALUE);
+        if (newLength < required) {
+            throw new IllegalStateException("Mapped list is full: " + size + " records");
+        }
+        try {
+            buffer.force();
+            map(newLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void map(long length) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+    }
+    
+    /**
+     * Converts values to and from records of a fixed number of bytes.
+     * {@link #write} and {@link #read} use the relative get/put methods of the
+     * buffer, which is positioned at the start of the record.
+     */
+    public interface RecordCodec<E> {
+        int recordSize();
+        
+        void write(ByteBuffer buffer, E value);
+        
+        E read(ByteBuffer buffer);
+    }
+    
+    private final class IteratorCustom implements Iterator<E> {
+        private int nextToReturn = 0;
+        private final int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            return nextToReturn != size();
+        }
+        
+        @Override
+        public E next() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextToReturn >= size) {
+                throw new NoSuchElementException();
+            }
+            return get(nextToReturn++);
+        }
+    }
+}
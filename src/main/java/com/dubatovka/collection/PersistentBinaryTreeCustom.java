@@ -0,0 +1,334 @@
+package com.dubatovka.collection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable sorted map with path copying. {@code add} and {@code remove}
+ * return a new version that copies only the O(log n) nodes on the path to
+ * the changed key and shares every other node with the previous version.
+ * A version never changes once created, so a snapshot is just a reference to
+ * it, and readers need no locks while writers publish newer versions, e.g.
+ * through a volatile field or an {@link java.util.concurrent.atomic.AtomicReference}.
+ * <p>
+ * Balance is kept by subtree weights (Adams' weight-balanced trees), which
+ * need no parent pointers and also give {@link #select(int)} for free.
+ */
+public final class PersistentBinaryTreeCustom<K, V> implements Iterable<PersistentBinaryTreeCustom.Node<K, V>> {
+    private static final int DELTA = 3;
+    private static final int RATIO = 2;
+    
+    private final Node<K, V> root;
+    private final Comparator<? super K> comparator;
+    
+    public PersistentBinaryTreeCustom() {
+        this(null, null);
+    }
+    
+    public PersistentBinaryTreeCustom(Comparator<? super K> comparator) {
+        this(null, comparator);
+    }
+    
+    private PersistentBinaryTreeCustom(Node<K, V> root, Comparator<? super K> comparator) {
+        this.root = root;
+        this.comparator = comparator;
+    }
+    
+    public V get(K key) {
+        Node<K, V> x = root;
+        while (x != null) {
+            int cmp = compare(key, x.key);
+            if (cmp < 0) {
+                x = x.left;
+            } else if (cmp > 0) {
+                x = x.right;
+            } else {
+                return x.value;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Returns a version that maps {@code key} to {@code value}. Returns this
+     * version when the key is already mapped to the same value.
+     */
+    public PersistentBinaryTreeCustom<K, V> add(K key, V value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        Node<K, V> newRoot = insert(root, key, value);
+        return (newRoot == root) ? this : new PersistentBinaryTreeCustom<>(newRoot, comparator);
+    }
+    
+    /**
+     * Returns a version without {@code key}, or this version when the key
+     * is absent.
+     */
+    public PersistentBinaryTreeCustom<K, V> remove(K key) {
+        Node<K, V> newRoot = delete(root, key);
+        return (newRoot == root) ? this : new PersistentBinaryTreeCustom<>(newRoot, comparator);
+    }
+    
+    public K select(int k) {
+        int size = size();
+        if ((k < 0) || (k >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + size);
+        }
+        Node<K, V> x = root;
+        while (true) {
+            int leftSize = sizeOf(x.left);
+            if (k < leftSize) {
+                x = x.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                x = x.right;
+            } else {
+                return x.key;
+            }
+        }
+    }
+    
+    public K firstKey() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        return getFirstInOrderNode(root).key;
+    }
+    
+    public int size() {
+        return sizeOf(root);
+    }
+    
+    public boolean isEmpty() {
+        return root == null;
+    }
+    
+    @Override
+    public Iterator<Node<K, V>> iterator() {
+        return new IteratorCustom<>(root);
+    }
+    
+    /**
+     * Checks ordering, sizes and weight balance of the tree. Used by tests
+     * to verify that every version stays balanced.
+     */
+    void checkBalance() {
+        checkBalance(root);
+    }
+    
+    private int checkBalance(Node<K, V> x) {
+        if (x == null) {
+            return 0;
+        }
+        if ((x.left != null) && (compare(x.left.key, x.key) >= 0)) {
+            throw new IllegalStateException("Left child is not less than its parent.");
+        }
+        if ((x.right != null) && (compare(x.right.key, x.key) <= 0)) {
+            throw new IllegalStateException("Right child is not greater than its parent.");
+        }
+        int leftSize = checkBalance(x.left);
+        int rightSize = checkBalance(x.right);
+        if (x.size != (leftSize + rightSize + 1)) {
+            throw new IllegalStateException("Subtree size is wrong.");
+        }
+        boolean balanced = ((leftSize + rightSize) <= 1)
+                || ((leftSize <= (DELTA * rightSize)) && (rightSize <= (DELTA * leftSize)));
+        if (!balanced) {
+            throw new IllegalStateException("Subtree is out of balance.");
+        }
+        return x.size;
+    }
+    
+    private Node<K, V> insert(Node<K, V> x, K key, V value) {
+        if (x == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = compare(key, x.key);
+        if (cmp < 0) {
+            Node<K, V> left = insert(x.left, key, value);
+            return (left == x.left) ? x : balance(x.key, x.value, left, x.right);
+        } else if (cmp > 0) {
+            Node<K, V> right = insert(x.right, key, value);
+            return (right == x.right) ? x : balance(x.key, x.value, x.left, right);
+        } else {
+            return (x.value == value) ? x : new Node<>(x.key, value, x.left, x.right);
+        }
+    }
+    
+    private Node<K, V> delete(Node<K, V> x, K key) {
+        if (x == null) {
+            return null;
+        }
+        int cmp = compare(key, x.key);
+        if (cmp < 0) {
+            Node<K, V> left = delete(x.left, key);
+            return (left == x.left) ? x : balance(x.key, x.value, left, x.right);
+        } else if (cmp > 0) {
+            Node<K, V> right = delete(x.right, key);
+            return (right == x.right) ? x : balance(x.key, x.value, x.left, right);
+        } else {
+            return glue(x.left, x.right);
+        }
+    }
+    
+    /**
+     * Joins two balanced subtrees whose sizes differ by at most a factor of
+     * {@code DELTA}, taking the new root from the larger one.
+     */
+    private static <K, V> Node<K, V> glue(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.size > right.size) {
+            Node<K, V> max = getLastInOrderNode(left);
+            return balance(max.key, max.value, deleteMax(left), right);
+        } else {
+            Node<K, V> min = getFirstInOrderNode(right);
+            return balance(min.key, min.value, left, deleteMin(right));
+        }
+    }
+    
+    private static <K, V> Node<K, V> deleteMin(Node<K, V> x) {
+        if (x.left == null) {
+            return x.right;
+        }
+        return balance(x.key, x.value, deleteMin(x.left), x.right);
+    }
+    
+    private static <K, V> Node<K, V> deleteMax(Node<K, V> x) {
+        if (x.right == null) {
+            return x.left;
+        }
+        return balance(x.key, x.value, x.left, deleteMax(x.right));
+    }
+    
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int leftSize = sizeOf(left);
+        int rightSize = sizeOf(right);
+        if ((leftSize + rightSize) <= 1) {
+            return new Node<>(key, value, left, right);
+        }
+        if (rightSize > (DELTA * leftSize)) {
+            boolean single = sizeOf(right.left) < (RATIO * sizeOf(right.right));
+            return single ? rotateLeft(key, value, left, right) : doubleRotateLeft(key, value, left, right);
+        }
+        if (leftSize > (DELTA * rightSize)) {
+            boolean single = sizeOf(left.right) < (RATIO * sizeOf(left.left));
+            return single ? rotateRight(key, value, left, right) : doubleRotateRight(key, value, left, right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+    
+    private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+    }
+    
+    private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+    }
+    
+    private static <K, V> Node<K, V> doubleRotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+        Node<K, V> rl = right.left;
+        return new Node<>(rl.key, rl.value,
+                new Node<>(key, value, left, rl.left),
+                new Node<>(right.key, right.value, rl.right, right.right));
+    }
+    
+    private static <K, V> Node<K, V> doubleRotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+        Node<K, V> lr = left.right;
+        return new Node<>(lr.key, lr.value,
+                new Node<>(left.key, left.value, left.left, lr.left),
+                new Node<>(key, value, lr.right, right));
+    }
+    
+    private static <K, V> int sizeOf(Node<K, V> x) {
+        return (x == null) ? 0 : x.size;
+    }
+    
+    private static <K, V> Node<K, V> getFirstInOrderNode(Node<K, V> x) {
+        while (x.left != null) {
+            x = x.left;
+        }
+        return x;
+    }
+    
+    private static <K, V> Node<K, V> getLastInOrderNode(Node<K, V> x) {
+        while (x.right != null) {
+            x = x.right;
+        }
+        return x;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private int compare(Object k1, Object k2) {
+        int result;
+        if (comparator == null) {
+            result = ((Comparable<? super K>) k1).compareTo((K) k2);
+        } else {
+            result = comparator.compare((K) k1, (K) k2);
+        }
+        return result;
+    }
+    
+    public static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int size;
+        
+        private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+        }
+        
+        public K getKey() {
+            return key;
+        }
+        
+        public V getValue() {
+            return value;
+        }
+    }
+    
+    /**
+     * In-order iterator over one version. Nodes have no parent links, so the
+     * path to the next node is kept on an explicit stack.
+     */
+    private static final class IteratorCustom<K, V> implements Iterator<Node<K, V>> {
+        private final ArrayDequeCustom<Node<K, V>> stack = new ArrayDequeCustom<>();
+        
+        private IteratorCustom(Node<K, V> root) {
+            pushLeftPath(root);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+        
+        @Override
+        public Node<K, V> next() {
+            Node<K, V> x = stack.pollLast();
+            if (x == null) {
+                throw new NoSuchElementException();
+            }
+            pushLeftPath(x.right);
+            return x;
+        }
+        
+        private void pushLeftPath(Node<K, V> x) {
+            for (; x != null; x = x.left) {
+                stack.add(x);
+            }
+        }
+    }
+}
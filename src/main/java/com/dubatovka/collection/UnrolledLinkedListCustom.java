@@ -0,0 +1,391 @@
+package com.dubatovka.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Doubly linked list whose nodes hold a small array of elements.
+ * A full node is split on insert and a node that falls below half full
+ * borrows from or merges with its successor on removal.
+ */
+public class UnrolledLinkedListCustom<E> implements Iterable<E> {
+    private static final String TEMPLATE_MESSAGE = "Index: %d, Size: %d";
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+    private final int nodeCapacity;
+    private Node<E> head;
+    private Node<E> last;
+    private int size;
+    private int modificationCount = 0;
+    
+    public UnrolledLinkedListCustom() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+    
+    public UnrolledLinkedListCustom(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Illegal node capacity: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+    
+    public void add(E value) {
+        insertAt(new Cursor<>(), value);
+    }
+    
+    public void add(int index, E value) {
+        checkPositionIndex(index);
+        insertAt(locate(index), value);
+    }
+    
+    public void addFirst(E e) {
+        Cursor<E> cursor = new Cursor<>();
+        cursor.node = head;
+        insertAt(cursor, e);
+    }
+    
+    public void set(int index, E value) {
+        checkElementIndex(index);
+        Cursor<E> cursor = locate(index);
+        cursor.node.elements[cursor.offset] = value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkElementIndex(index);
+        Cursor<E> cursor = locate(index);
+        return (E) cursor.node.elements[cursor.offset];
+    }
+    
+    public E remove(int index) {
+        checkElementIndex(index);
+        return removeAt(locate(index));
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+    
+    public ListIterator<E> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListIteratorCustom(index);
+    }
+    
+    private Cursor<E> locate(int index) {
+        Cursor<E> cursor = new Cursor<>();
+        if (index == size) {
+            return cursor;
+        }
+        if (index < (size >> 1)) {
+            Node<E> x = head;
+            int remaining = index;
+            while (remaining >= x.count) {
+                remaining -= x.count;
+                x = x.next;
+            }
+            cursor.node = x;
+            cursor.offset = remaining;
+        } else {
+            Node<E> x = last;
+            int remaining = size - index;
+            while (remaining > x.count) {
+                remaining -= x.count;
+                x = x.previous;
+            }
+            cursor.node = x;
+            cursor.offset = x.count - remaining;
+        }
+        return cursor;
+    }
+    
+    /**
+     * Inserts the value before the cursor position, or at the end when the
+     * cursor is past the last element, and leaves the cursor on the new element.
+     */
+    private void insertAt(Cursor<E> cursor, E value) {
+        if (cursor.node == null) {
+            if (last == null) {
+                linkAfter(null, new Node<>(nodeCapacity));
+            }
+            cursor.node = last;
+            cursor.offset = last.count;
+        }
+        
+        Node<E> x = cursor.node;
+        if (x.count == nodeCapacity) {
+            Node<E> newNode = new Node<>(nodeCapacity);
+            linkAfter(x, newNode);
+            if (cursor.offset == nodeCapacity) {
+                cursor.node = newNode;
+                cursor.offset = 0;
+            } else {
+                int half = nodeCapacity >> 1;
+                int moved = x.count - half;
+                System.arraycopy(x.elements, half, newNode.elements, 0, moved);
+                clear(x.elements, half, x.count);
+                newNode.count = moved;
+                x.count = half;
+                if (cursor.offset > half) {
+                    cursor.node = newNode;
+                    cursor.offset -= half;
+                }
+            }
+            x = cursor.node;
+        }
+        
+        System.arraycopy(x.elements, cursor.offset, x.elements, cursor.offset + 1, x.count - cursor.offset);
+        x.elements[cursor.offset] = value;
+        x.count++;
+        size++;
+        modificationCount++;
+    }
+    
+    /**
+     * Removes the element at the cursor and leaves the cursor on the element
+     * that followed it, or past the end.
+     */
+    @SuppressWarnings("unchecked")
+    private E removeAt(Cursor<E> cursor) {
+        Node<E> x = cursor.node;
+        E data = (E) x.elements[cursor.offset];
+        System.arraycopy(x.elements, cursor.offset + 1, x.elements, cursor.offset, x.count - cursor.offset - 1);
+        x.count--;
+        x.elements[x.count] = null;
+        size--;
+        modificationCount++;
+        
+        if (x.count == 0) {
+            cursor.node = x.next;
+            cursor.offset = 0;
+            unlink(x);
+            return data;
+        }
+        
+        Node<E> next = x.next;
+        if ((x.count < (nodeCapacity >> 1)) && (next != null)) {
+            if ((x.count + next.count) <= nodeCapacity) {
+                System.arraycopy(next.elements, 0, x.elements, x.count, next.count);
+                x.count += next.count;
+                unlink(next);
+            } else {
+                int borrowed = (next.count - x.count) >> 1;
+                System.arraycopy(next.elements, 0, x.elements, x.count, borrowed);
+                System.arraycopy(next.elements, borrowed, next.elements, 0, next.count - borrowed);
+                clear(next.elements, next.count - borrowed, next.count);
+                x.count += borrowed;
+                next.count -= borrowed;
+            }
+        }
+        
+        if (cursor.offset == x.count) {
+            cursor.node = x.next;
+            cursor.offset = 0;
+        }
+        return data;
+    }
+    
+    private void linkAfter(Node<E> x, Node<E> newNode) {
+        Node<E> next = (x == null) ? head : x.next;
+        newNode.previous = x;
+        newNode.next = next;
+        if (x == null) {
+            head = newNode;
+        } else {
+            x.next = newNode;
+        }
+        if (next == null) {
+            last = newNode;
+        } else {
+            next.previous = newNode;
+        }
+    }
+    
+    private void unlink(Node<E> x) {
+        Node<E> next = x.next;
+        Node<E> previous = x.previous;
+        if (previous == null) {
+            head = next;
+        } else {
+            previous.next = next;
+        }
+        if (next == null) {
+            last = previous;
+        } else {
+            next.previous = previous;
+        }
+        x.previous = null;
+        x.next = null;
+    }
+    
+    private static void clear(Object[] elements, int from, int to) {
+        for (int i = from; i < to; i++) {
+            elements[i] = null;
+        }
+    }
+    
+    private void checkPositionIndex(int index) {
+        boolean wrong = (index < 0) || (index > size);
+        if (wrong) {
+            String message = String.format(TEMPLATE_MESSAGE, index, size);
+            throw new IndexOutOfBoundsException(message);
+        }
+    }
+    
+    private void checkElementIndex(int index) {
+        boolean wrong = (index < 0) || (index >= size);
+        if (wrong) {
+            String message = String.format(TEMPLATE_MESSAGE, index, size);
+            throw new IndexOutOfBoundsException(message);
+        }
+    }
+    
+    private static class Node<E> {
+        private final Object[] elements;
+        private int count;
+        private Node<E> next;
+        private Node<E> previous;
+        
+        Node(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+    
+    private static class Cursor<E> {
+        private Node<E> node;
+        private int offset;
+    }
+    
+    private final class ListIteratorCustom implements ListIterator<E> {
+        private int nextIndex;
+        private final Cursor<E> nextToReturn;
+        private Node<E> lastReturnedNode;
+        private int lastReturnedOffset;
+        private int expectedModificationCount = modificationCount;
+        
+        private ListIteratorCustom(int index) {
+            nextIndex = index;
+            nextToReturn = locate(index);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+        
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForOuterModification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            Node<E> x = nextToReturn.node;
+            lastReturnedNode = x;
+            lastReturnedOffset = nextToReturn.offset;
+            nextToReturn.offset++;
+            if (nextToReturn.offset == x.count) {
+                nextToReturn.node = x.next;
+                nextToReturn.offset = 0;
+            }
+            nextIndex++;
+            return (E) lastReturnedNode.elements[lastReturnedOffset];
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForOuterModification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            
+            if (nextToReturn.node == null) {
+                nextToReturn.node = last;
+                nextToReturn.offset = last.count - 1;
+            } else if (nextToReturn.offset == 0) {
+                nextToReturn.node = nextToReturn.node.previous;
+                nextToReturn.offset = nextToReturn.node.count - 1;
+            } else {
+                nextToReturn.offset--;
+            }
+            lastReturnedNode = nextToReturn.node;
+            lastReturnedOffset = nextToReturn.offset;
+            nextIndex--;
+            return (E) lastReturnedNode.elements[lastReturnedOffset];
+        }
+        
+        @Override
+        public void remove() {
+            checkForOuterModification();
+            if (lastReturnedNode == null) {
+                throw new IllegalStateException();
+            }
+            
+            boolean removedBeforeCursor = (lastReturnedNode != nextToReturn.node)
+                    || (lastReturnedOffset != nextToReturn.offset);
+            nextToReturn.node = lastReturnedNode;
+            nextToReturn.offset = lastReturnedOffset;
+            removeAt(nextToReturn);
+            expectedModificationCount = modificationCount;
+            if (removedBeforeCursor) {
+                nextIndex--;
+            }
+            lastReturnedNode = null;
+        }
+        
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+        
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+        
+        @Override
+        public void set(E value) {
+            if (lastReturnedNode == null) {
+                throw new IllegalStateException();
+            }
+            checkForOuterModification();
+            lastReturnedNode.elements[lastReturnedOffset] = value;
+        }
+        
+        @Override
+        public void add(E value) {
+            checkForOuterModification();
+            lastReturnedNode = null;
+            insertAt(nextToReturn, value);
+            nextToReturn.offset++;
+            if (nextToReturn.offset == nextToReturn.node.count) {
+                nextToReturn.node = nextToReturn.node.next;
+                nextToReturn.offset = 0;
+            }
+            nextIndex++;
+            expectedModificationCount = modificationCount;
+        }
+        
+        private void checkForOuterModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class ArrayDequeCustomTest {
+    @Test
+    public void addAndPollTest() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>();
+        deque.add(2);
+        deque.add(3);
+        deque.addFirst(1);
+        deque.addFirst(0);
+        
+        Assert.assertEquals(4, deque.size());
+        Assert.assertEquals(Integer.valueOf(0), deque.peekFirst());
+        Assert.assertEquals(Integer.valueOf(3), deque.peekLast());
+        Assert.assertEquals(Integer.valueOf(2), deque.get(2));
+        Assert.assertEquals(Integer.valueOf(0), deque.pollFirst());
+        Assert.assertEquals(Integer.valueOf(3), deque.pollLast());
+        Assert.assertEquals(Integer.valueOf(1), deque.removeFirst());
+        Assert.assertEquals(Integer.valueOf(2), deque.removeLast());
+        Assert.assertEquals(null, deque.pollFirst());
+        Assert.assertEquals(null, deque.peekLast());
+        Assert.assertEquals(true, deque.isEmpty());
+    }
+    
+    @Test
+    public void wrapAroundAndGrowTest() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>(3);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            int action = random.nextInt(4);
+            if (action == 0) {
+                deque.add(i);
+                expected.addLast(i);
+            } else if (action == 1) {
+                deque.addFirst(i);
+                expected.addFirst(i);
+            } else if (action == 2) {
+                Assert.assertEquals(expected.pollFirst(), deque.pollFirst());
+            } else {
+                Assert.assertEquals(expected.pollLast(), deque.pollLast());
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), deque.size());
+        Iterator<Integer> iterator = deque.iterator();
+        for (Integer value : expected) {
+            Assert.assertEquals(value, iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void iteratorRemoveTest() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>();
+        for (int i = 0; i < 10; i++) {
+            deque.addFirst(i);
+        }
+        Iterator<Integer> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            if ((iterator.next() % 2) == 0) {
+                iterator.remove();
+            }
+        }
+        
+        Assert.assertEquals(5, deque.size());
+        Assert.assertEquals(Integer.valueOf(9), deque.get(0));
+        Assert.assertEquals(Integer.valueOf(1), deque.get(4));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>();
+        deque.add(1);
+        deque.add(2);
+        
+        Iterator<Integer> iterator = deque.iterator();
+        deque.addFirst(0);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void removeFirstException() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>();
+        deque.removeFirst();
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void nullElementException() {
+        ArrayDequeCustom<Integer> deque = new ArrayDequeCustom<>();
+        deque.add(null);
+    }
+}
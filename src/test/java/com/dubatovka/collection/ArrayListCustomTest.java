@@ -3,8 +3,11 @@ package com.dubatovka.collection;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 public class ArrayListCustomTest {
     @Test
@@ -195,4 +198,145 @@ public class ArrayListCustomTest {
         Assert.assertEquals(1, el0);
         Assert.assertEquals(2, el1);
     }
+    
+    @Test
+    public void streamTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        
+        Assert.assertEquals(499500, list.stream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals(499500, list.parallelStream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals(500, list.parallelStream().filter(i -> (i % 2) == 0).count());
+        Assert.assertEquals(list.stream().map(i -> i * 2).collect(Collectors.toList()),
+                list.parallelStream().map(i -> i * 2).collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void spliteratorSplitTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        
+        Spliterator<Integer> spliterator = list.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        Assert.assertEquals(5, prefix.estimateSize());
+        Assert.assertEquals(5, spliterator.estimateSize());
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        prefix.tryAdvance(i -> Assert.assertEquals(0, i.intValue()));
+        spliterator.tryAdvance(i -> Assert.assertEquals(5, i.intValue()));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void spliteratorConcurrentModificationExceptionTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        Spliterator<Integer> spliterator = list.spliterator();
+        list.add(3);
+        spliterator.forEachRemaining(i -> { });
+    }
+    
+    @Test
+    public void addAllTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>(2);
+        list.add(1);
+        list.add(5);
+        list.addAll(1, Arrays.asList(2, 3, 4));
+        list.addAll(Arrays.asList(6, 7));
+        
+        Assert.assertEquals(7, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            int actual = list.get(i);
+            Assert.assertEquals(i + 1, actual);
+        }
+    }
+    
+    @Test
+    public void removeRangeTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        list.removeRange(1, 4);
+        
+        Assert.assertEquals(Arrays.asList(0, 4, 5), Arrays.asList(list.toArray()));
+    }
+    
+    @Test
+    public void removeIfTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        
+        Assert.assertEquals(true, list.removeIf(i -> (i % 2) == 0));
+        Assert.assertEquals(false, list.removeIf(i -> i > 10));
+        Assert.assertEquals(Arrays.asList(1, 3, 5), Arrays.asList(list.toArray()));
+    }
+    
+    @Test
+    public void removeIfThrowingFilterLeavesListUnchangedTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        
+        try {
+            list.removeIf(i -> {
+                if (i == 4) {
+                    throw new IllegalStateException();
+                }
+                return (i % 2) == 0;
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), Arrays.asList(list.toArray()));
+        }
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void removeIfConcurrentModificationExceptionTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(0, 1, 2));
+        list.removeIf(i -> {
+            if (i == 1) {
+                list.add(3);
+            }
+            return true;
+        });
+    }
+    
+    @Test
+    public void retainAllTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        list.retainAll(Arrays.asList(5, 2, 9));
+        
+        Assert.assertEquals(Arrays.asList(2, 5), Arrays.asList(list.toArray()));
+    }
+    
+    @Test
+    public void replaceAllTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(1, 2, 3));
+        list.replaceAll(i -> i * 10);
+        
+        Assert.assertEquals(Arrays.asList(10, 20, 30), Arrays.asList(list.toArray()));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void replaceAllConcurrentModificationExceptionTest() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.addAll(Arrays.asList(1, 2, 3));
+        
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        list.replaceAll(i -> i * 10);
+        iterator.next();
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeRangeException() {
+        ArrayListCustom<Integer> list = new ArrayListCustom<>();
+        list.add(1);
+        list.removeRange(0, 2);
+    }
 }
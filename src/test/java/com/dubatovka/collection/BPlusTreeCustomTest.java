@@ -0,0 +1,110 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class BPlusTreeCustomTest {
+    
+    @Test
+    public void add() {
+        BPlusTreeCustom<Integer, String> tree = new BPlusTreeCustom<>();
+        tree.add(0, "zero");
+        tree.add(1, "one");
+        tree.add(2, "two");
+        
+        Assert.assertEquals(3, tree.size());
+        
+        tree.add(3, "three");
+        tree.add(2, "two");
+        Assert.assertEquals(4, tree.size());
+    }
+    
+    @Test
+    public void getAndRemove() {
+        BPlusTreeCustom<Integer, String> tree = new BPlusTreeCustom<>();
+        tree.add(0, "zero");
+        tree.add(1, "one");
+        tree.add(2, "two");
+        tree.add(3, "three");
+        
+        Assert.assertEquals("one", tree.get(1));
+        tree.remove(1);
+        Assert.assertEquals(null, tree.get(1));
+        Assert.assertEquals(3, tree.size());
+        
+        tree.remove(0);
+        tree.remove(2);
+        tree.remove(3);
+        Assert.assertEquals(true, tree.isEmpty());
+        Assert.assertFalse(tree.iterator().hasNext());
+    }
+    
+    @Test
+    public void randomAddAndRemove() {
+        for (int maxKeys = 3; maxKeys <= 6; maxKeys++) {
+            checkRandomAddAndRemove(maxKeys);
+        }
+    }
+    
+    private void checkRandomAddAndRemove(int maxKeys) {
+        BPlusTreeCustom<Integer, Integer> tree = new BPlusTreeCustom<>(maxKeys, null);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(1000);
+            if (random.nextInt(3) > 0) {
+                tree.add(key, i);
+                expected.put(key, i);
+            } else {
+                tree.remove(key);
+                expected.remove(key);
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), tree.size());
+        for (int key = 0; key < 1000; key++) {
+            Assert.assertEquals(expected.get(key), tree.get(key));
+        }
+        Iterator<BPlusTreeCustom.Entry<Integer, Integer>> iterator = tree.iterator();
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            BPlusTreeCustom.Entry<Integer, Integer> actual = iterator.next();
+            Assert.assertEquals(entry.getKey(), actual.getKey());
+            Assert.assertEquals(entry.getValue(), actual.getValue());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void reverseOrder() {
+        BPlusTreeCustom<Integer, String> tree = new BPlusTreeCustom<>(Comparator.reverseOrder());
+        String[] arr = {"seven", "five", "three", "two", "one", "zero"};
+        
+        tree.add(1, "one");
+        tree.add(3, "three");
+        tree.add(7, "seven");
+        tree.add(0, "zero");
+        tree.add(5, "five");
+        tree.add(2, "two");
+        
+        List<String> list = new ArrayList<>(6);
+        for (BPlusTreeCustom.Entry<Integer, String> entry : tree) {
+            list.add(entry.getValue());
+        }
+        Assert.assertEquals(Arrays.asList(arr), list);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void removeConcurrentModificationExceptionTest() {
+        BPlusTreeCustom<Integer, String> tree = new BPlusTreeCustom<>();
+        tree.add(0, "zero");
+        tree.add(1, "one");
+        
+        Iterator<BPlusTreeCustom.Entry<Integer, String>> iterator = tree.iterator();
+        tree.remove(1);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+    }
+}
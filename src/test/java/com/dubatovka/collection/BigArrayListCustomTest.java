@@ -0,0 +1,103 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class BigArrayListCustomTest {
+    @Test
+    public void addTest() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>(4);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            int actual = list.get(i);
+            Assert.assertEquals(i, actual);
+        }
+    }
+    
+    @Test
+    public void addAndRemoveAcrossChunksTest() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>(4);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), list.size());
+        Iterator<Integer> iterator = list.iterator();
+        for (Integer value : expected) {
+            Assert.assertEquals(value, iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void setTest() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        list.set(1L, 20);
+        int actual = list.get(1L);
+        Assert.assertEquals(20, actual);
+    }
+    
+    @Test
+    public void iteratorRemoveTest() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>(2);
+        for (int i = 0; i < 9; i++) {
+            list.add(i);
+        }
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if ((iterator.next() % 3) != 0) {
+                iterator.remove();
+            }
+        }
+        
+        Assert.assertEquals(3, list.size());
+        int actual = list.get(2);
+        Assert.assertEquals(6, actual);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        Iterator<Integer> iterator = list.iterator();
+        list.add(3);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() {
+        BigArrayListCustom<Integer> list = new BigArrayListCustom<>();
+        list.add(1);
+        list.get(-1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorException() {
+        new BigArrayListCustom<Integer>(10);
+    }
+}
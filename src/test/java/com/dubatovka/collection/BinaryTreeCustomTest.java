@@ -4,6 +4,8 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public class BinaryTreeCustomTest {
     
@@ -182,4 +184,306 @@ public class BinaryTreeCustomTest {
             Assert.assertEquals(list.get(i), arr[i]);
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void balancedOnSortedKeys() {
+        BinaryTreeCustom<Integer, Integer> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 1024; i++) {
+            tree.add(i, i);
+            tree.checkRedBlackProperties();
+        }
+        Assert.assertEquals(1024, tree.size());
+        Assert.assertTrue(tree.checkRedBlackProperties() <= 11);
+    }
+    
+    @Test
+    public void balancedOnReverseSortedKeys() {
+        BinaryTreeCustom<Integer, Integer> tree = new BinaryTreeCustom<>();
+        for (int i = 1023; i >= 0; i--) {
+            tree.add(i, i);
+            tree.checkRedBlackProperties();
+        }
+        Assert.assertEquals(1024, tree.size());
+        Assert.assertTrue(tree.checkRedBlackProperties() <= 11);
+    }
+    
+    @Test
+    public void balancedOnRandomAddAndRemove() {
+        BinaryTreeCustom<Integer, Integer> tree = new BinaryTreeCustom<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextBoolean()) {
+                tree.add(key, i);
+                expected.put(key, i);
+            } else {
+                tree.remove(key);
+                expected.remove(key);
+            }
+            tree.checkRedBlackProperties();
+        }
+        
+        Assert.assertEquals(expected.size(), tree.size());
+        Iterator<BinaryTreeCustom.Node<Integer, Integer>> iterator = tree.iterator();
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            BinaryTreeCustom.Node<Integer, Integer> node = iterator.next();
+            Assert.assertEquals(entry.getKey(), node.getKey());
+            Assert.assertEquals(entry.getValue(), node.getValue());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void selectAndRank() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 100; i++) {
+            tree.add(i * 2, String.valueOf(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            tree.remove(i * 2);
+        }
+        tree.checkRedBlackProperties();
+        
+        for (int k = 0; k < tree.size(); k++) {
+            int key = tree.select(k);
+            Assert.assertEquals(4 * k + 2, key);
+            Assert.assertEquals(k, tree.rank(key));
+            Assert.assertEquals(k + 1, tree.rank(key + 1));
+        }
+        Assert.assertEquals(0, tree.rank(-5));
+        Assert.assertEquals(50, tree.rank(1000));
+    }
+    
+    @Test
+    public void countInRange() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 100; i++) {
+            tree.add(i, String.valueOf(i));
+        }
+        
+        Assert.assertEquals(11, tree.countInRange(10, 20));
+        Assert.assertEquals(100, tree.countInRange(-10, 200));
+        Assert.assertEquals(1, tree.countInRange(5, 5));
+        Assert.assertEquals(0, tree.countInRange(20, 10));
+        Assert.assertEquals(0, tree.countInRange(150, 200));
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void selectException() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        tree.add(0, "zero");
+        tree.select(1);
+    }
+    
+    @Test
+    public void navigation() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 10; i++) {
+            tree.add(i * 10, String.valueOf(i));
+        }
+        
+        Assert.assertEquals(Integer.valueOf(20), tree.floor(25).getKey());
+        Assert.assertEquals(Integer.valueOf(20), tree.floor(20).getKey());
+        Assert.assertEquals(null, tree.floor(-1));
+        Assert.assertEquals(Integer.valueOf(30), tree.ceiling(25).getKey());
+        Assert.assertEquals(Integer.valueOf(30), tree.ceiling(30).getKey());
+        Assert.assertEquals(null, tree.ceiling(91));
+        Assert.assertEquals(Integer.valueOf(40), tree.higher(30).getKey());
+        Assert.assertEquals(null, tree.higher(90));
+        Assert.assertEquals(Integer.valueOf(20), tree.lower(30).getKey());
+        Assert.assertEquals(null, tree.lower(0));
+        Assert.assertEquals(Integer.valueOf(0), tree.firstKey());
+        Assert.assertEquals(Integer.valueOf(90), tree.lastKey());
+    }
+    
+    @Test
+    public void pollFirst() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        tree.add(2, "two");
+        tree.add(0, "zero");
+        tree.add(1, "one");
+        
+        Assert.assertEquals("zero", tree.pollFirst().getValue());
+        Assert.assertEquals("one", tree.pollFirst().getValue());
+        Assert.assertEquals("two", tree.pollFirst().getValue());
+        Assert.assertEquals(null, tree.pollFirst());
+        Assert.assertEquals(true, tree.isEmpty());
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void firstKeyException() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        tree.firstKey();
+    }
+    
+    @Test
+    public void rangeViews() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 100; i++) {
+            tree.add(i, String.valueOf(i));
+        }
+        
+        List<Integer> keys = new ArrayList<>();
+        for (BinaryTreeCustom.Node<Integer, String> node : tree.subMap(10, 15)) {
+            keys.add(node.getKey());
+        }
+        Assert.assertEquals(Arrays.asList(10, 11, 12, 13, 14), keys);
+        Assert.assertEquals(5, tree.subMap(10, 15).size());
+        Assert.assertEquals("12", tree.subMap(10, 15).get(12));
+        Assert.assertEquals(null, tree.subMap(10, 15).get(15));
+        
+        Assert.assertEquals(3, tree.headMap(3).size());
+        Iterator<BinaryTreeCustom.Node<Integer, String>> head = tree.headMap(1).iterator();
+        Assert.assertEquals(Integer.valueOf(0), head.next().getKey());
+        Assert.assertFalse(head.hasNext());
+        
+        Assert.assertEquals(2, tree.tailMap(98).size());
+        Assert.assertEquals(true, tree.tailMap(100).isEmpty());
+        Assert.assertEquals(true, tree.subMap(20, 20).isEmpty());
+    }
+    
+    @Test
+    public void fromSortedArray() {
+        for (int size = 0; size < 130; size++) {
+            Integer[] keys = new Integer[size];
+            String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i * 2;
+                values[i] = String.valueOf(i);
+            }
+            
+            BinaryTreeCustom<Integer, String> tree = BinaryTreeCustom.fromSorted(keys, values, null);
+            tree.checkRedBlackProperties();
+            Assert.assertEquals(size, tree.size());
+            for (int i = 0; i < size; i++) {
+                Assert.assertEquals(String.valueOf(i), tree.get(i * 2));
+                Assert.assertEquals(Integer.valueOf(i * 2), tree.select(i));
+            }
+        }
+    }
+    
+    @Test
+    public void fromSortedIteratorThenModify() {
+        TreeMap<Integer, String> source = new TreeMap<>(Comparator.reverseOrder());
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, String.valueOf(i));
+        }
+        
+        BinaryTreeCustom<Integer, String> tree = BinaryTreeCustom.fromSorted(source.entrySet().iterator(),
+                source.size(), Comparator.reverseOrder());
+        for (int i = 0; i < 1000; i += 3) {
+            tree.remove(i);
+        }
+        tree.add(5000, "5000");
+        tree.checkRedBlackProperties();
+        Assert.assertEquals(Integer.valueOf(5000), tree.firstKey());
+        Assert.assertEquals(Integer.valueOf(1), tree.lastKey());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSortedUnsortedException() {
+        BinaryTreeCustom.fromSorted(new Integer[]{1, 3, 2}, new String[]{"one", "three", "two"}, null);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSortedDuplicateException() {
+        BinaryTreeCustom.fromSorted(new Integer[]{1, 1}, new String[]{"one", "one"}, null);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSortedShortInputException() {
+        List<Map.Entry<Integer, String>> entries = new ArrayList<>();
+        entries.add(new AbstractMap.SimpleEntry<>(1, "one"));
+        BinaryTreeCustom.fromSorted(entries.iterator(), 2, null);
+    }
+    
+    @Test
+    public void streamTest() {
+        BinaryTreeCustom<Integer, Integer> tree = new BinaryTreeCustom<>();
+        Random random = new Random(11);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(50000);
+            tree.add(key, key * 2);
+            expected.put(key, key * 2);
+        }
+        
+        List<Integer> sequential = tree.stream().map(BinaryTreeCustom.Node::getKey).collect(Collectors.toList());
+        List<Integer> parallel = tree.parallelStream().map(BinaryTreeCustom.Node::getKey).collect(Collectors.toList());
+        long sum = tree.parallelStream().mapToLong(BinaryTreeCustom.Node::getValue).sum();
+        
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), sequential);
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), sum);
+    }
+    
+    @Test
+    public void spliteratorSplitTest() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 1000; i++) {
+            tree.add(i, String.valueOf(i));
+        }
+        
+        Spliterator<BinaryTreeCustom.Node<Integer, String>> suffix = tree.spliterator();
+        Spliterator<BinaryTreeCustom.Node<Integer, String>> prefix = suffix.trySplit();
+        Assert.assertEquals(1000, prefix.estimateSize() + suffix.estimateSize());
+        Assert.assertTrue(prefix.estimateSize() > 250);
+        Assert.assertTrue(suffix.estimateSize() > 250);
+        
+        List<Integer> keys = new ArrayList<>();
+        Assert.assertTrue(prefix.tryAdvance(node -> keys.add(node.getKey())));
+        prefix.forEachRemaining(node -> keys.add(node.getKey()));
+        while (suffix.tryAdvance(node -> keys.add(node.getKey()))) {
+            Assert.assertEquals(1000 - keys.size(), suffix.estimateSize());
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), keys.get(i));
+        }
+        Assert.assertNull(tree.stream().filter(node -> node.getKey() < 0).findFirst().orElse(null));
+        Assert.assertEquals(0, new BinaryTreeCustom<Integer, String>().stream().count());
+    }
+    
+    @Test
+    public void parallelReduceTest() {
+        BinaryTreeCustom<Integer, Integer> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 100000; i++) {
+            tree.add(i, i % 7);
+        }
+        
+        long sum = tree.parallelReduce(0L, (acc, node) -> acc + node.getValue(), Long::sum);
+        Long evenCount = tree.parallelReduce(new ForkJoinPool(4), 0L,
+                (acc, node) -> ((node.getKey() % 2) == 0) ? (acc + 1) : acc, Long::sum);
+        
+        long expected = 0;
+        for (int i = 0; i < 100000; i++) {
+            expected += i % 7;
+        }
+        Assert.assertEquals(expected, sum);
+        Assert.assertEquals(Long.valueOf(50000), evenCount);
+    }
+    
+    @Test
+    public void parallelReducePreservesOrderTest() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            tree.add(i, String.valueOf(i % 10));
+            expected.append(i % 10);
+        }
+        
+        String concatenated = tree.parallelReduce("", (acc, node) -> acc + node.getValue(), String::concat);
+        
+        Assert.assertEquals(expected.toString(), concatenated);
+        Assert.assertEquals("", new BinaryTreeCustom<Integer, String>().parallelReduce("", (acc, node) -> acc, String::concat));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void spliteratorConcurrentModificationException() {
+        BinaryTreeCustom<Integer, String> tree = new BinaryTreeCustom<>();
+        for (int i = 0; i < 10; i++) {
+            tree.add(i, String.valueOf(i));
+        }
+        tree.stream().forEach(node -> tree.add(100, "100"));
+    }
+}
@@ -0,0 +1,169 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ConcurrentLinkedListCustomTest {
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 50000;
+    
+    @Test
+    public void dequeOperationsTest() {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        list.add(2);
+        list.add(3);
+        list.addFirst(1);
+        list.addFirst(0);
+        
+        Assert.assertEquals(4, list.size());
+        Assert.assertEquals(Integer.valueOf(0), list.peekFirst());
+        Assert.assertEquals(Integer.valueOf(3), list.peekLast());
+        Assert.assertEquals(Integer.valueOf(0), list.pollFirst());
+        Assert.assertEquals(Integer.valueOf(3), list.pollLast());
+        Assert.assertEquals(Integer.valueOf(1), list.pollFirst());
+        Assert.assertEquals(Integer.valueOf(2), list.pollLast());
+        Assert.assertEquals(null, list.pollFirst());
+        Assert.assertEquals(null, list.pollLast());
+        Assert.assertEquals(true, list.isEmpty());
+    }
+    
+    @Test
+    public void iteratorTest() {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if ((iterator.next() % 2) == 0) {
+                iterator.remove();
+            }
+        }
+        
+        List<Integer> actual = new ArrayList<>();
+        for (Integer value : list) {
+            actual.add(value);
+        }
+        Assert.assertEquals(Arrays.asList(1, 3, 5, 7, 9), actual);
+    }
+    
+    @Test
+    public void iteratorToleratesModificationTest() {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        Iterator<Integer> iterator = list.iterator();
+        list.add(3);
+        list.pollFirst();
+        int counter = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            counter++;
+        }
+        Assert.assertTrue(counter >= 2);
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void nullElementTest() {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        list.add(null);
+    }
+    
+    @Test
+    public void producersAndConsumersStressTest() throws Exception {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        AtomicIntegerArray seen = new AtomicIntegerArray(THREADS * PER_THREAD);
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * PER_THREAD;
+            boolean atHead = (t % 2) == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    if (atHead) {
+                        list.addFirst(base + i);
+                    } else {
+                        list.add(base + i);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int t = 0; t < THREADS; t++) {
+            boolean fromHead = (t % 2) == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (consumed.get() < (THREADS * PER_THREAD)) {
+                    Integer value = fromHead ? list.pollFirst() : list.pollLast();
+                    if (value != null) {
+                        Assert.assertEquals(0, seen.getAndIncrement(value));
+                        consumed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        Assert.assertEquals(THREADS * PER_THREAD, consumed.get());
+        for (int i = 0; i < seen.length(); i++) {
+            Assert.assertEquals(1, seen.get(i));
+        }
+        Assert.assertEquals(true, list.isEmpty());
+    }
+    
+    @Test
+    public void concurrentAddPreservesPerThreadOrderTest() throws Exception {
+        ConcurrentLinkedListCustom<Integer> list = new ConcurrentLinkedListCustom<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * PER_THREAD;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    list.add(base + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        Assert.assertEquals(THREADS * PER_THREAD, list.size());
+        int[] lastSeen = new int[THREADS];
+        Arrays.fill(lastSeen, -1);
+        for (Integer value : list) {
+            int thread = value / PER_THREAD;
+            Assert.assertTrue(value > lastSeen[thread]);
+            lastSeen[thread] = value;
+        }
+    }
+}
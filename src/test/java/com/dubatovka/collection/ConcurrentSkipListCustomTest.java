@@ -0,0 +1,158 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentSkipListCustomTest {
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 20000;
+    
+    @Test
+    public void addGetRemoveTest() {
+        ConcurrentSkipListCustom<Integer, String> map = new ConcurrentSkipListCustom<>();
+        map.add(2, "two");
+        map.add(1, "one");
+        map.add(3, "three");
+        map.add(2, "deux");
+        
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("deux", map.get(2));
+        Assert.assertEquals(Integer.valueOf(1), map.firstKey());
+        Assert.assertEquals(false, map.containsKey(4));
+        
+        map.remove(1);
+        map.remove(4);
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(null, map.get(1));
+        Assert.assertEquals(Integer.valueOf(2), map.firstKey());
+    }
+    
+    @Test
+    public void randomOperationsTest() {
+        ConcurrentSkipListCustom<Integer, Integer> map = new ConcurrentSkipListCustom<>(Comparator.reverseOrder());
+        TreeMap<Integer, Integer> expected = new TreeMap<>(Comparator.reverseOrder());
+        Random random = new Random(23);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                map.add(key, i);
+                expected.put(key, i);
+            } else {
+                map.remove(key);
+                expected.remove(key);
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(expected.firstKey(), map.firstKey());
+        Iterator<ConcurrentSkipListCustom.Entry<Integer, Integer>> iterator = map.iterator();
+        for (Integer key : expected.keySet()) {
+            ConcurrentSkipListCustom.Entry<Integer, Integer> entry = iterator.next();
+            Assert.assertEquals(key, entry.getKey());
+            Assert.assertEquals(expected.get(key), entry.getValue());
+            Assert.assertEquals(expected.get(key), map.get(key));
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void concurrentAddTest() throws Exception {
+        ConcurrentSkipListCustom<Integer, Integer> map = new ConcurrentSkipListCustom<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    int key = (i * THREADS) + thread;
+                    map.add(key, key);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        Assert.assertEquals(THREADS * PER_THREAD, map.size());
+        int expected = 0;
+        for (ConcurrentSkipListCustom.Entry<Integer, Integer> entry : map) {
+            Assert.assertEquals(Integer.valueOf(expected), entry.getKey());
+            expected++;
+        }
+        Assert.assertEquals(THREADS * PER_THREAD, expected);
+    }
+    
+    @Test
+    public void concurrentAddRemoveTest() throws Exception {
+        ConcurrentSkipListCustom<Integer, Integer> map = new ConcurrentSkipListCustom<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    int key = random.nextInt(1000);
+                    int action = random.nextInt(10);
+                    if (action < 4) {
+                        map.add(key, key);
+                    } else if (action < 8) {
+                        map.remove(key);
+                    } else {
+                        Integer value = map.get(key);
+                        if ((value != null) && (value != key)) {
+                            throw new AssertionError("Wrong value for " + key);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        int count = 0;
+        Integer previous = null;
+        for (ConcurrentSkipListCustom.Entry<Integer, Integer> entry : map) {
+            if (previous != null) {
+                Assert.assertTrue(previous < entry.getKey());
+            }
+            Assert.assertEquals(entry.getKey(), map.get(entry.getKey()));
+            previous = entry.getKey();
+            count++;
+        }
+        Assert.assertEquals(count, map.size());
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void firstKeyException() {
+        new ConcurrentSkipListCustom<Integer, Integer>().firstKey();
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void nullValueException() {
+        new ConcurrentSkipListCustom<Integer, Integer>().add(1, null);
+    }
+}
@@ -0,0 +1,187 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CopyOnWriteArrayListCustomTest {
+    @Test
+    public void addAndRemoveTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(1);
+        list.add(3);
+        list.add(1, 2);
+        list.add(0, 0);
+        
+        Assert.assertEquals(4, list.size());
+        for (int i = 0; i < 4; i++) {
+            int actual = list.get(i);
+            Assert.assertEquals(i, actual);
+        }
+        
+        int removed = list.remove(1);
+        Assert.assertEquals(1, removed);
+        list.set(0, 10);
+        int actual0 = list.get(0);
+        int actual1 = list.get(1);
+        Assert.assertEquals(10, actual0);
+        Assert.assertEquals(2, actual1);
+        Assert.assertEquals(3, list.size());
+    }
+    
+    @Test
+    public void snapshotIteratorTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        Iterator<Integer> iterator = list.iterator();
+        list.add(3);
+        list.remove(0);
+        
+        int counter = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            counter++;
+        }
+        Assert.assertEquals(2, counter);
+        Assert.assertEquals(2, list.size());
+    }
+    
+    @Test
+    public void addAllTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(0);
+        list.addAll(Arrays.asList(1, 2, 3));
+        
+        Assert.assertEquals(4, list.size());
+        int actual = list.get(3);
+        Assert.assertEquals(3, actual);
+    }
+    
+    @Test
+    public void batchTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(0);
+        list.add(1);
+        
+        list.batch(working -> {
+            for (int i = 2; i < 100; i++) {
+                working.add(i);
+            }
+            working.remove(0);
+            working.set(0, -1);
+        });
+        
+        Assert.assertEquals(99, list.size());
+        int actual0 = list.get(0);
+        int actual1 = list.get(1);
+        Assert.assertEquals(-1, actual0);
+        Assert.assertEquals(2, actual1);
+    }
+    
+    @Test
+    public void batchKeepsSnapshotsTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.addAll(Arrays.asList(1, 2, 3));
+        Iterator<Integer> snapshot = list.iterator();
+        
+        list.batch(working -> working.set(0, 10));
+        list.batch(working -> working.remove(2));
+        
+        Assert.assertEquals(2, list.size());
+        int actual0 = list.get(0);
+        Assert.assertEquals(10, actual0);
+        Assert.assertEquals(1, snapshot.next().intValue());
+        Assert.assertEquals(2, snapshot.next().intValue());
+        Assert.assertEquals(3, snapshot.next().intValue());
+    }
+    
+    @Test
+    public void batchWithExpectedAddsTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.batch(3, working -> working.addAll(Arrays.asList(1, 2, 3)));
+        list.batch(0, working -> working.remove(0));
+        list.batch(1, working -> working.add(4));
+        
+        Assert.assertEquals(3, list.size());
+        for (int i = 0; i < 3; i++) {
+            int actual = list.get(i);
+            Assert.assertEquals(i + 2, actual);
+        }
+    }
+    
+    @Test
+    public void strayBatchListReferenceTest() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        AtomicReference<ArrayListCustom<Integer>> stray = new AtomicReference<>();
+        list.batch(2, working -> {
+            working.add(1);
+            working.add(2);
+            stray.set(working);
+        });
+        
+        stray.get().set(0, 10);
+        stray.get().add(3);
+        
+        Assert.assertEquals(2, list.size());
+        int actual0 = list.get(0);
+        int actual1 = list.get(1);
+        Assert.assertEquals(1, actual0);
+        Assert.assertEquals(2, actual1);
+    }
+    
+    @Test
+    public void readersSeeWholeBatchesTest() throws Exception {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        
+        Thread reader = new Thread(() -> {
+            while (done.getCount() > 0) {
+                int sum = 0;
+                int count = 0;
+                for (Integer value : list) {
+                    sum += value;
+                    count++;
+                }
+                if ((count % 10) != 0) {
+                    failure.set("Partial batch observed: " + count + " elements, sum " + sum);
+                }
+            }
+        });
+        reader.start();
+        for (int round = 0; round < 200; round++) {
+            list.batch(working -> {
+                for (int i = 0; i < 10; i++) {
+                    working.add(i);
+                }
+            });
+        }
+        done.countDown();
+        reader.join();
+        
+        Assert.assertEquals(null, failure.get());
+        Assert.assertEquals(2000, list.size());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void iteratorRemoveException() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(1);
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() {
+        CopyOnWriteArrayListCustom<Integer> list = new CopyOnWriteArrayListCustom<>();
+        list.add(1);
+        list.get(1);
+    }
+}
@@ -0,0 +1,272 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DurableBinaryTreeCustomTest {
+    private static final DurableBinaryTreeCustom.EntryCodec<Integer, String> CODEC =
+            new DurableBinaryTreeCustom.EntryCodec<Integer, String>() {
+                @Override
+                public void writeKey(DataOutput out, Integer key) throws IOException {
+                    out.writeInt(key);
+                }
+                
+                @Override
+                public Integer readKey(DataInput in) throws IOException {
+                    return in.readInt();
+                }
+                
+                @Override
+                public void writeValue(DataOutput out, String value) throws IOException {
+                    out.writeUTF(value);
+                }
+                
+                @Override
+                public String readValue(DataInput in) throws IOException {
+                    return in.readUTF();
+                }
+            };
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void recoverFromLogTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.BATCH)) {
+            tree.add(1, "one");
+            tree.add(2, "two");
+            tree.add(3, "three");
+            tree.remove(2);
+            tree.add(1, "uno");
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.BATCH)) {
+            Assert.assertEquals(2, tree.size());
+            Assert.assertEquals("uno", tree.get(1));
+            Assert.assertEquals(null, tree.get(2));
+            Assert.assertEquals("three", tree.get(3));
+        }
+    }
+    
+    @Test
+    public void recoverFromSnapshotAndLogTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            for (int i = 0; i < 100; i++) {
+                tree.add(i, String.valueOf(i));
+            }
+            tree.snapshot();
+            Assert.assertEquals(0, Files.size(directory.resolve("tree.wal")));
+            tree.remove(0);
+            tree.add(100, "100");
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            Assert.assertEquals(100, tree.size());
+            Assert.assertEquals(null, tree.get(0));
+            Assert.assertEquals("100", tree.get(100));
+            
+            List<Integer> keys = new ArrayList<>();
+            for (Map.Entry<Integer, String> entry : tree) {
+                keys.add(entry.getKey());
+            }
+            Assert.assertEquals(Integer.valueOf(1), keys.get(0));
+            Assert.assertEquals(Integer.valueOf(100), keys.get(99));
+        }
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void iteratorEntriesReadOnlyException() throws IOException {
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(folder.getRoot().toPath(),
+                CODEC, DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            tree.add(1, "one");
+            tree.iterator().next().setValue("uno");
+        }
+    }
+    
+    @Test
+    public void snapshotDurableBeforeLogTruncationTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Path snapshotFile = directory.resolve("tree.snapshot");
+        Path logFile = directory.resolve("tree.wal");
+        List<String> events = new ArrayList<>();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<Integer, String>(directory,
+                CODEC, DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE) {
+            @Override
+            void syncDirectory() throws IOException {
+                events.add("snapshot visible: " + Files.exists(snapshotFile));
+                events.add("log size: " + Files.size(logFile));
+                super.syncDirectory();
+            }
+        }) {
+            tree.add(1, "one");
+            tree.add(2, "two");
+            long logSize = Files.size(logFile);
+            
+            tree.snapshot();
+            
+            Assert.assertEquals(2, events.size());
+            Assert.assertEquals("snapshot visible: true", events.get(0));
+            Assert.assertEquals("log size: " + logSize, events.get(1));
+            Assert.assertEquals(0, Files.size(logFile));
+        }
+    }
+    
+    @Test
+    public void failedLogAppendLeavesTreeUnchangedTest() throws IOException {
+        DurableBinaryTreeCustom.EntryCodec<Integer, String> failingCodec =
+                new DurableBinaryTreeCustom.EntryCodec<Integer, String>() {
+                    @Override
+                    public void writeKey(DataOutput out, Integer key) throws IOException {
+                        CODEC.writeKey(out, key);
+                    }
+                    
+                    @Override
+                    public Integer readKey(DataInput in) throws IOException {
+                        return CODEC.readKey(in);
+                    }
+                    
+                    @Override
+                    public void writeValue(DataOutput out, String value) throws IOException {
+                        if ("bad".equals(value)) {
+                            throw new IOException("Cannot encode " + value);
+                        }
+                        CODEC.writeValue(out, value);
+                    }
+                    
+                    @Override
+                    public String readValue(DataInput in) throws IOException {
+                        return CODEC.readValue(in);
+                    }
+                };
+        Path directory = folder.getRoot().toPath();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, failingCodec,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            tree.add(1, "one");
+            try {
+                tree.add(1, "bad");
+                Assert.fail();
+            } catch (UncheckedIOException e) {
+                Assert.assertEquals("one", tree.get(1));
+            }
+            try {
+                tree.add(2, "bad");
+                Assert.fail();
+            } catch (UncheckedIOException e) {
+                Assert.assertEquals(1, tree.size());
+            }
+            tree.add(3, "three");
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            Assert.assertEquals(2, tree.size());
+            Assert.assertEquals("one", tree.get(1));
+            Assert.assertEquals("three", tree.get(3));
+        }
+    }
+    
+    @Test
+    public void tornLogTailTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            tree.add(1, "one");
+            tree.add(2, "two");
+        }
+        Path log = directory.resolve("tree.wal");
+        long validSize = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 20, 1, 2, 3}, StandardOpenOption.APPEND);
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            Assert.assertEquals(2, tree.size());
+            Assert.assertEquals(validSize, Files.size(log));
+            tree.add(3, "three");
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            Assert.assertEquals("three", tree.get(3));
+        }
+    }
+    
+    @Test
+    public void automaticSnapshotTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, null, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.OS, 16, 10)) {
+            for (int i = 0; i < 25; i++) {
+                tree.add(i, String.valueOf(i));
+            }
+            Assert.assertTrue(Files.exists(directory.resolve("tree.snapshot")));
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.OS)) {
+            Assert.assertEquals(25, tree.size());
+        }
+    }
+    
+    @Test
+    public void osPolicyWritesEveryRecordTest() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Path logFile = directory.resolve("tree.wal");
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.OS)) {
+            tree.add(1, "one");
+            long oneRecord = Files.size(logFile);
+            Assert.assertTrue(oneRecord > 0);
+            
+            tree.add(2, "two");
+            Assert.assertEquals(2 * oneRecord, Files.size(logFile));
+        }
+    }
+    
+    @Test
+    public void concurrentWritersTest() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        int threads = 4;
+        int perThread = 500;
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        tree.add(base + i, String.valueOf(base + i));
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        
+        try (DurableBinaryTreeCustom<Integer, String> tree = new DurableBinaryTreeCustom<>(directory, CODEC,
+                DurableBinaryTreeCustom.SyncPolicy.EVERY_WRITE)) {
+            Assert.assertEquals(threads * perThread, tree.size());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class HashMapCustomTest {
+    @Test
+    public void addGetRemoveTest() {
+        HashMapCustom<String, Integer> map = new HashMapCustom<>();
+        map.add("one", 1);
+        map.add("two", 2);
+        map.add("one", 11);
+        map.add("none", null);
+        
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(Integer.valueOf(11), map.get("one"));
+        Assert.assertEquals(Integer.valueOf(2), map.get("two"));
+        Assert.assertEquals(null, map.get("none"));
+        Assert.assertEquals(true, map.containsKey("none"));
+        Assert.assertEquals(false, map.containsKey("three"));
+        
+        map.remove("one");
+        map.remove("three");
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(false, map.containsKey("one"));
+    }
+    
+    @Test
+    public void randomOperationsTest() {
+        HashMapCustom<Integer, Integer> map = new HashMapCustom<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(21);
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(20000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, i);
+                expected.put(key, i);
+            }
+            if ((i % 1000) == 0) {
+                int probe = random.nextInt(20000);
+                Assert.assertEquals(expected.get(probe), map.get(probe));
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 20000; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+            Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+    
+    @Test
+    public void lookupDuringIncrementalResizeTest() {
+        HashMapCustom<Integer, Integer> map = new HashMapCustom<>();
+        for (int i = 0; i < 5000; i++) {
+            map.add(i, -i);
+            Assert.assertEquals(Integer.valueOf(0), map.get(0));
+            Assert.assertEquals(Integer.valueOf(-i / 2), map.get(i / 2));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            map.remove(i);
+        }
+        
+        Assert.assertEquals(2500, map.size());
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(((i % 2) == 0) ? null : Integer.valueOf(-i), map.get(i));
+        }
+    }
+    
+    @Test
+    public void collidingComparableKeysTest() {
+        HashMapCustom<CollidingKey, Integer> map = new HashMapCustom<>();
+        for (int i = 0; i < 3000; i++) {
+            map.add(new CollidingKey(i), i);
+        }
+        map.add(new CollidingKey(7), 70);
+        for (int i = 0; i < 3000; i += 3) {
+            map.remove(new CollidingKey(i));
+        }
+        
+        Assert.assertEquals(2000, map.size());
+        for (int i = 0; i < 3000; i++) {
+            Integer expected = ((i % 3) == 0) ? null : Integer.valueOf((i == 7) ? 70 : i);
+            Assert.assertEquals(expected, map.get(new CollidingKey(i)));
+        }
+    }
+    
+    @Test
+    public void collidingNonComparableKeysTest() {
+        HashMapCustom<Object, Integer> map = new HashMapCustom<>();
+        Object[] keys = new Object[200];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object() {
+                @Override
+                public int hashCode() {
+                    return 42;
+                }
+            };
+            map.add(keys[i], i);
+        }
+        map.add(new CollidingKey(1), -1);
+        map.remove(keys[0]);
+        
+        Assert.assertEquals(200, map.size());
+        Assert.assertEquals(null, map.get(keys[0]));
+        Assert.assertEquals(Integer.valueOf(199), map.get(keys[199]));
+        Assert.assertEquals(Integer.valueOf(-1), map.get(new CollidingKey(1)));
+    }
+    
+    @Test
+    public void keysComparingEqualButNotEqualTest() {
+        HashMapCustom<TiedKey, Integer> map = new HashMapCustom<>();
+        for (int i = 0; i < 300; i++) {
+            map.add(new TiedKey(i), i);
+        }
+        map.add(new TiedKey(15), 150);
+        for (int i = 0; i < 300; i += 4) {
+            map.remove(new TiedKey(i));
+        }
+        
+        Assert.assertEquals(225, map.size());
+        for (int i = 0; i < 300; i++) {
+            Integer expected = ((i % 4) == 0) ? null : Integer.valueOf((i == 15) ? 150 : i);
+            Assert.assertEquals(expected, map.get(new TiedKey(i)));
+        }
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void nullKeyException() {
+        HashMapCustom<String, Integer> map = new HashMapCustom<>();
+        map.add(null, 1);
+    }
+    
+    private static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+        
+        private CollidingKey(int id) {
+            this.id = id;
+        }
+        
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof CollidingKey) && (((CollidingKey) o).id == id);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+    
+    /**
+     * Key whose ordering is inconsistent with equals: ten distinct keys
+     * share each rank, like {@code new BigDecimal("1.0")} and
+     * {@code new BigDecimal("1.00")}.
+     */
+    private static final class TiedKey implements Comparable<TiedKey> {
+        private final int id;
+        
+        private TiedKey(int id) {
+            this.id = id;
+        }
+        
+        @Override
+        public int compareTo(TiedKey o) {
+            return Integer.compare(id / 10, o.id / 10);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof TiedKey) && (((TiedKey) o).id == id);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+
+public class IntArrayListCustomTest {
+    @Test
+    public void addTest() {
+        IntArrayListCustom list = new IntArrayListCustom(2);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, list.get(i));
+        }
+    }
+    
+    @Test
+    public void addPositionTest() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(1, 3);
+        
+        Assert.assertArrayEquals(new int[]{1, 3, 2}, list.toArray());
+    }
+    
+    @Test
+    public void removeTest() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        
+        Assert.assertEquals(2, list.remove(1));
+        Assert.assertArrayEquals(new int[]{1, 3}, list.toArray());
+    }
+    
+    @Test
+    public void setTest() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.add(2);
+        
+        list.set(0, 10);
+        Assert.assertEquals(10, list.get(0));
+    }
+    
+    @Test
+    public void iteratorRemoveTest() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextInt() != 2) {
+                iterator.remove();
+            }
+        }
+        
+        Assert.assertArrayEquals(new int[]{2}, list.toArray());
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.add(2);
+        
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        list.add(3);
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() {
+        IntArrayListCustom list = new IntArrayListCustom();
+        list.add(1);
+        list.get(1);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 
 public class LinkedListCustomTest {
     
@@ -190,4 +191,215 @@ public class LinkedListCustomTest {
         Assert.assertEquals(0, actualInt);
         Assert.assertEquals(3, list.size());
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void getFromBothEndsTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        
+        for (int i = 99; i >= 0; i--) {
+            int actual = list.get(i);
+            Assert.assertEquals(i, actual);
+        }
+        for (int i = 0; i < 100; i += 7) {
+            int actual = list.get(i);
+            Assert.assertEquals(i, actual);
+        }
+    }
+    
+    @Test
+    public void fingerInvalidationTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        
+        int actual = list.get(5);
+        Assert.assertEquals(5, actual);
+        list.remove(2);
+        actual = list.get(5);
+        Assert.assertEquals(6, actual);
+        list.add(4, 100);
+        actual = list.get(4);
+        Assert.assertEquals(100, actual);
+        actual = list.get(6);
+        Assert.assertEquals(6, actual);
+        list.addFirst(-1);
+        actual = list.get(7);
+        Assert.assertEquals(6, actual);
+        list.set(7, 60);
+        actual = list.get(8);
+        Assert.assertEquals(7, actual);
+        actual = list.get(7);
+        Assert.assertEquals(60, actual);
+    }
+    
+    @Test
+    public void listIteratorPreviousRemoveTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        list.add(1);
+        list.add(1);
+        list.add(2);
+        
+        ListIterator<Integer> iterator = list.listIterator(3);
+        int previous = iterator.previous();
+        Assert.assertEquals(2, previous);
+        previous = iterator.previous();
+        Assert.assertEquals(1, previous);
+        iterator.remove();
+        
+        Assert.assertEquals(2, list.size());
+        int actual0 = list.get(0);
+        int actual1 = list.get(1);
+        Assert.assertEquals(1, actual0);
+        Assert.assertEquals(2, actual1);
+    }
+    
+    @Test
+    public void nodePoolChurnTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>(4);
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 10; i++) {
+                list.add(i);
+            }
+            list.addFirst(-1);
+            list.add(5, 50);
+            Assert.assertEquals(12, list.size());
+            int first = list.remove(0);
+            Assert.assertEquals(-1, first);
+            Iterator<Integer> iterator = list.iterator();
+            int expected = 0;
+            while (iterator.hasNext()) {
+                int value = iterator.next();
+                if (value == 50) {
+                    iterator.remove();
+                    continue;
+                }
+                Assert.assertEquals(expected, value);
+                expected++;
+                iterator.remove();
+            }
+            Assert.assertEquals(true, list.isEmpty());
+        }
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void nodePoolStaleIteratorTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>(4);
+        list.add(1);
+        list.add(2);
+        
+        ListIterator<Integer> iterator = list.listIterator(0);
+        iterator.next();
+        list.remove(0);
+        list.add(3);
+        iterator.set(10);
+    }
+    
+    @Test
+    public void appendAllTest() {
+        LinkedListCustom<Integer> list = newList(0, 3);
+        LinkedListCustom<Integer> other = newList(3, 6);
+        
+        list.appendAll(other);
+        
+        assertContent(list, 0, 6);
+        Assert.assertEquals(0, other.size());
+        Assert.assertEquals(false, other.iterator().hasNext());
+        other.add(7);
+        Assert.assertEquals(Integer.valueOf(7), other.get(0));
+        Assert.assertEquals(6, list.size());
+    }
+    
+    @Test
+    public void appendAllToEmptyTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        list.appendAll(newList(0, 4));
+        list.appendAll(new LinkedListCustom<>());
+        
+        assertContent(list, 0, 4);
+        list.addFirst(-1);
+        Assert.assertEquals(Integer.valueOf(-1), list.get(0));
+        Assert.assertEquals(Integer.valueOf(3), list.get(4));
+    }
+    
+    @Test
+    public void splitAtTest() {
+        LinkedListCustom<Integer> list = newList(0, 10);
+        list.get(7);
+        
+        LinkedListCustom<Integer> tail = list.splitAt(4);
+        
+        assertContent(list, 0, 4);
+        assertContent(tail, 4, 10);
+        LinkedListCustom<Integer> empty = tail.splitAt(6);
+        Assert.assertEquals(0, empty.size());
+        LinkedListCustom<Integer> all = list.splitAt(0);
+        Assert.assertEquals(0, list.size());
+        assertContent(all, 0, 4);
+    }
+    
+    @Test
+    public void spliceBeforeTest() {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        list.add(0);
+        list.add(4);
+        ListIterator<Integer> iterator = list.listIterator(0);
+        iterator.next();
+        
+        list.spliceBefore(iterator, newList(1, 4));
+        
+        Assert.assertEquals(4, iterator.nextIndex());
+        Assert.assertEquals(Integer.valueOf(4), iterator.next());
+        Assert.assertEquals(Integer.valueOf(4), iterator.previous());
+        Assert.assertEquals(Integer.valueOf(3), iterator.previous());
+        assertContent(list, 0, 5);
+        
+        ListIterator<Integer> end = list.listIterator(5);
+        list.spliceBefore(end, newList(5, 7));
+        assertContent(list, 0, 7);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void appendAllInvalidatesOtherIteratorTest() {
+        LinkedListCustom<Integer> list = newList(0, 2);
+        LinkedListCustom<Integer> other = newList(2, 4);
+        Iterator<Integer> iterator = other.iterator();
+        
+        list.appendAll(other);
+        iterator.next();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void spliceBeforeForeignIteratorTest() {
+        LinkedListCustom<Integer> list = newList(0, 2);
+        LinkedListCustom<Integer> other = newList(2, 4);
+        list.spliceBefore(other.listIterator(0), newList(4, 5));
+    }
+    
+    private static LinkedListCustom<Integer> newList(int from, int to) {
+        LinkedListCustom<Integer> list = new LinkedListCustom<>();
+        for (int i = from; i < to; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+    
+    private static void assertContent(LinkedListCustom<Integer> list, int from, int to) {
+        Assert.assertEquals(to - from, list.size());
+        int expected = from;
+        for (Integer value : list) {
+            Assert.assertEquals(Integer.valueOf(expected++), value);
+        }
+        ListIterator<Integer> iterator = list.listIterator(list.size());
+        while (iterator.hasPrevious()) {
+            Assert.assertEquals(Integer.valueOf(--expected), iterator.previous());
+        }
+        Assert.assertEquals(from, expected);
+        for (int i = 0; i < list.size(); i++) {
+            Assert.assertEquals(Integer.valueOf(from + i), list.get(i));
+        }
+    }
+}
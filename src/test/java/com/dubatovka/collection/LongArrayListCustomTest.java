@@ -0,0 +1,88 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+
+public class LongArrayListCustomTest {
+    @Test
+    public void addTest() {
+        LongArrayListCustom list = new LongArrayListCustom(2);
+        for (int i = 0; i < 100; i++) {
+            list.add(i + Integer.MAX_VALUE);
+        }
+        Assert.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i + Integer.MAX_VALUE, list.get(i));
+        }
+    }
+    
+    @Test
+    public void addPositionTest() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(1, 3);
+        
+        Assert.assertArrayEquals(new long[]{1, 3, 2}, list.toArray());
+    }
+    
+    @Test
+    public void removeTest() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        
+        Assert.assertEquals(2, list.remove(1));
+        Assert.assertArrayEquals(new long[]{1, 3}, list.toArray());
+    }
+    
+    @Test
+    public void setTest() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.add(2);
+        
+        list.set(0, 10);
+        Assert.assertEquals(10, list.get(0));
+    }
+    
+    @Test
+    public void iteratorRemoveTest() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextLong() != 2) {
+                iterator.remove();
+            }
+        }
+        
+        Assert.assertArrayEquals(new long[]{2}, list.toArray());
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.add(2);
+        
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        list.add(3);
+        while (iterator.hasNext()) {
+            iterator.nextLong();
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() {
+        LongArrayListCustom list = new LongArrayListCustom();
+        list.add(1);
+        list.get(1);
+    }
+}
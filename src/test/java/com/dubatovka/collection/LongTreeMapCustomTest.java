@@ -0,0 +1,111 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class LongTreeMapCustomTest {
+    @Test
+    public void addGetRemoveTest() {
+        LongTreeMapCustom<String> map = new LongTreeMapCustom<>();
+        map.add(2L, "two");
+        map.add(-1L, "minus one");
+        map.add(Long.MAX_VALUE, "max");
+        map.add(2L, "deux");
+        
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("deux", map.get(2L));
+        Assert.assertEquals(null, map.get(3L));
+        Assert.assertEquals(-1L, map.firstKey());
+        Assert.assertEquals(Long.MAX_VALUE, map.lastKey());
+        Assert.assertEquals(2L, map.floor(100L).getKey());
+        Assert.assertEquals(Long.MAX_VALUE, map.ceiling(3L).getKey());
+        Assert.assertEquals(null, map.floor(-2L));
+        
+        map.remove(2L);
+        map.remove(42L);
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(false, map.containsKey(2L));
+        map.checkRedBlackProperties();
+    }
+    
+    @Test
+    public void randomOperationsTest() {
+        LongTreeMapCustom<Long> map = new LongTreeMapCustom<>();
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        Random random = new Random(25);
+        for (int i = 0; i < 50000; i++) {
+            long key = random.nextInt(5000) - 2500L;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, (long) i);
+                expected.put(key, (long) i);
+            }
+            if ((i % 1000) == 0) {
+                map.checkRedBlackProperties();
+            }
+        }
+        
+        map.checkRedBlackProperties();
+        Assert.assertEquals(expected.size(), map.size());
+        Iterator<LongTreeMapCustom.Node<Long>> iterator = map.iterator();
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            LongTreeMapCustom.Node<Long> node = iterator.next();
+            Assert.assertEquals(entry.getKey().longValue(), node.getKey());
+            Assert.assertEquals(entry.getValue(), node.getValue());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void rangeScanTest() {
+        LongTreeMapCustom<Long> map = new LongTreeMapCustom<>();
+        for (long key = 0; key < 100; key += 3) {
+            map.add(key, key * 10);
+        }
+        
+        List<Long> keys = new ArrayList<>();
+        for (LongTreeMapCustom.Node<Long> node : map.subMap(10L, 31L)) {
+            keys.add(node.getKey());
+        }
+        long[] sum = new long[1];
+        map.forEachInRange(10L, 30L, (key, value) -> sum[0] += value);
+        
+        Assert.assertEquals(7, keys.size());
+        Assert.assertEquals(Long.valueOf(12), keys.get(0));
+        Assert.assertEquals(Long.valueOf(30), keys.get(6));
+        Assert.assertEquals((12 + 15 + 18 + 21 + 24 + 27) * 10, sum[0]);
+        Assert.assertFalse(map.subMap(200L, 300L).iterator().hasNext());
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorConcurrentModificationException() {
+        LongTreeMapCustom<Long> map = new LongTreeMapCustom<>();
+        map.add(1L, 1L);
+        map.add(2L, 2L);
+        Iterator<LongTreeMapCustom.Node<Long>> iterator = map.iterator();
+        iterator.next();
+        map.add(3L, 3L);
+        iterator.next();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void subMapIllegalRangeException() {
+        new LongTreeMapCustom<Long>().subMap(2L, 1L);
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void firstKeyException() {
+        new LongTreeMapCustom<Long>().firstKey();
+    }
+}
@@ -0,0 +1,147 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LruCacheCustomTest {
+    @Test
+    public void evictLeastRecentlyUsedTest() {
+        LruCacheCustom<Integer, String> cache = new LruCacheCustom<>(3);
+        List<Integer> evicted = new ArrayList<>();
+        cache.addEvictionListener((key, value) -> evicted.add(key));
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        Assert.assertEquals("one", cache.get(1));
+        
+        cache.put(4, "four");
+        cache.put(5, "five");
+        
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(null, cache.get(2));
+        Assert.assertEquals(null, cache.get(3));
+        Assert.assertEquals("one", cache.get(1));
+        Assert.assertEquals("five", cache.get(5));
+        Assert.assertEquals(2, evicted.size());
+        Assert.assertEquals(Integer.valueOf(2), evicted.get(0));
+        Assert.assertEquals(Integer.valueOf(3), evicted.get(1));
+        Assert.assertEquals(2, cache.evictionCount());
+        Assert.assertEquals(3, cache.hitCount());
+        Assert.assertEquals(2, cache.missCount());
+    }
+    
+    @Test
+    public void updateAndRemoveTest() {
+        LruCacheCustom<Integer, String> cache = new LruCacheCustom<>(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(1, "uno");
+        cache.put(3, "three");
+        
+        Assert.assertEquals("uno", cache.get(1));
+        Assert.assertEquals(null, cache.get(2));
+        
+        cache.remove(1);
+        cache.remove(42);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(null, cache.get(1));
+        Assert.assertEquals("three", cache.get(3));
+    }
+    
+    @Test
+    public void weightBoundTest() {
+        LruCacheCustom<String, String> cache = new LruCacheCustom<>(10, (key, value) -> value.length(),
+                LruCacheCustom.AdmissionPolicy.NONE);
+        List<String> evicted = new ArrayList<>();
+        cache.addEvictionListener((key, value) -> evicted.add(key));
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.put("c", "cccccc");
+        
+        Assert.assertEquals(10, cache.weight());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(null, cache.get("a"));
+        Assert.assertEquals("cccccc", cache.get("c"));
+        
+        cache.put("huge", "xxxxxxxxxxx");
+        Assert.assertEquals(null, cache.get("huge"));
+        Assert.assertEquals(10, cache.weight());
+        Assert.assertEquals(2, evicted.size());
+        Assert.assertEquals("a", evicted.get(0));
+        Assert.assertEquals("huge", evicted.get(1));
+    }
+    
+    @Test
+    public void manyEntriesTest() {
+        LruCacheCustom<Integer, Integer> cache = new LruCacheCustom<>(1000);
+        for (int i = 0; i < 100000; i++) {
+            cache.put(i, i);
+            if (i >= 1000) {
+                Assert.assertEquals(null, cache.get(i - 1000));
+            }
+        }
+        Assert.assertEquals(1000, cache.size());
+        for (int i = 99000; i < 100000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+        Assert.assertEquals(99000, cache.evictionCount());
+    }
+    
+    @Test
+    public void tinyLfuAdmissionTest() {
+        LruCacheCustom<Integer, Integer> cache = new LruCacheCustom<>(100, (key, value) -> 1,
+                LruCacheCustom.AdmissionPolicy.TINY_LFU);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        
+        Assert.assertEquals(100, cache.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+        Assert.assertEquals(1000, cache.evictionCount());
+    }
+    
+    @Test
+    public void tinyLfuWeightedAdmissionTest() {
+        LruCacheCustom<Integer, Integer> cache = new LruCacheCustom<>(1000, (key, value) -> 10,
+                LruCacheCustom.AdmissionPolicy.TINY_LFU, 100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(1000, cache.weight());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void expectedEntriesException() {
+        new LruCacheCustom<Integer, Integer>(10, (key, value) -> 1, LruCacheCustom.AdmissionPolicy.TINY_LFU, 0);
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void nullValueException() {
+        LruCacheCustom<Integer, String> cache = new LruCacheCustom<>(1);
+        cache.put(1, null);
+    }
+}
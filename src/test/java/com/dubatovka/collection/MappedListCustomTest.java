@@ -0,0 +1,123 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+public class MappedListCustomTest {
+    private static final MappedListCustom.RecordCodec<Long> LONG_CODEC = new MappedListCustom.RecordCodec<Long>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+        
+        @Override
+        public void write(ByteBuffer buffer, Long value) {
+            buffer.putLong(value);
+        }
+        
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void addGetSetTest() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("list.bin");
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            list.add(1L);
+            list.add(2L);
+            list.set(0, 10L);
+            
+            Assert.assertEquals(2, list.size());
+            Assert.assertEquals(Long.valueOf(10), list.get(0));
+            Assert.assertEquals(Long.valueOf(2), list.get(1));
+        }
+    }
+    
+    @Test
+    public void reopenTest() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("list.bin");
+        int count = 300000;
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            for (long i = 0; i < count; i++) {
+                list.add(i * 3);
+            }
+            list.force();
+        }
+        
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            Assert.assertEquals(count, list.size());
+            long expected = 0;
+            for (Long value : list) {
+                Assert.assertEquals(Long.valueOf(expected * 3), value);
+                expected++;
+            }
+            list.add(-1L);
+        }
+        
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            Assert.assertEquals(count + 1, list.size());
+            Assert.assertEquals(Long.valueOf(-1), list.get(count));
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void recordSizeMismatchException() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("list.bin");
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            list.add(1L);
+        }
+        MappedListCustom.RecordCodec<Integer> intCodec = new MappedListCustom.RecordCodec<Integer>() {
+            @Override
+            public int recordSize() {
+                return Integer.BYTES;
+            }
+            
+            @Override
+            public void write(ByteBuffer buffer, Integer value) {
+                buffer.putInt(value);
+            }
+            
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+        new MappedListCustom<>(file, intCodec).close();
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("list.bin");
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            list.add(1L);
+            list.add(2L);
+            
+            Iterator<Long> iterator = list.iterator();
+            list.add(3L);
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("list.bin");
+        try (MappedListCustom<Long> list = new MappedListCustom<>(file, LONG_CODEC)) {
+            list.get(0);
+        }
+    }
+}
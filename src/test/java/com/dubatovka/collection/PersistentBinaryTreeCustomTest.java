@@ -0,0 +1,144 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class PersistentBinaryTreeCustomTest {
+    @Test
+    public void addGetRemoveTest() {
+        PersistentBinaryTreeCustom<Integer, String> empty = new PersistentBinaryTreeCustom<>();
+        PersistentBinaryTreeCustom<Integer, String> tree = empty.add(2, "two").add(1, "one").add(3, "three");
+        
+        Assert.assertEquals(3, tree.size());
+        Assert.assertEquals("two", tree.get(2));
+        Assert.assertEquals(Integer.valueOf(1), tree.firstKey());
+        Assert.assertEquals(Integer.valueOf(3), tree.select(2));
+        Assert.assertEquals(0, empty.size());
+        Assert.assertEquals(true, empty.isEmpty());
+        
+        PersistentBinaryTreeCustom<Integer, String> removed = tree.remove(2);
+        Assert.assertEquals(2, removed.size());
+        Assert.assertEquals(null, removed.get(2));
+        Assert.assertEquals("two", tree.get(2));
+        Assert.assertSame(removed, removed.remove(42));
+    }
+    
+    @Test
+    public void snapshotIsolationTest() {
+        PersistentBinaryTreeCustom<Integer, Integer> tree = new PersistentBinaryTreeCustom<>();
+        List<PersistentBinaryTreeCustom<Integer, Integer>> versions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            versions.add(tree);
+            tree = tree.add(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            tree = tree.remove(i).add(i + 1, -i);
+        }
+        
+        for (int v = 0; v < versions.size(); v++) {
+            PersistentBinaryTreeCustom<Integer, Integer> version = versions.get(v);
+            Assert.assertEquals(v, version.size());
+            int expected = 0;
+            for (PersistentBinaryTreeCustom.Node<Integer, Integer> node : version) {
+                Assert.assertEquals(Integer.valueOf(expected), node.getKey());
+                Assert.assertEquals(Integer.valueOf(expected), node.getValue());
+                expected++;
+            }
+        }
+        Assert.assertEquals(50, tree.size());
+        Assert.assertEquals(Integer.valueOf(-98), tree.get(99));
+    }
+    
+    @Test
+    public void structuralSharingTest() {
+        PersistentBinaryTreeCustom<Integer, Integer> tree = new PersistentBinaryTreeCustom<>();
+        for (int i = 0; i < 10000; i++) {
+            tree = tree.add(i, i);
+        }
+        PersistentBinaryTreeCustom<Integer, Integer> updated = tree.add(5000, -1).remove(7000);
+        
+        Map<Object, Boolean> oldNodes = new IdentityHashMap<>();
+        for (PersistentBinaryTreeCustom.Node<Integer, Integer> node : tree) {
+            oldNodes.put(node, Boolean.TRUE);
+        }
+        int copied = 0;
+        for (PersistentBinaryTreeCustom.Node<Integer, Integer> node : updated) {
+            if (!oldNodes.containsKey(node)) {
+                copied++;
+            }
+        }
+        Assert.assertTrue("Copied " + copied + " nodes", copied < 100);
+        Assert.assertSame(updated, updated.add(5000, updated.get(5000)));
+    }
+    
+    @Test
+    public void randomOperationsTest() {
+        PersistentBinaryTreeCustom<Integer, Integer> tree = new PersistentBinaryTreeCustom<>(Comparator.reverseOrder());
+        TreeMap<Integer, Integer> expected = new TreeMap<>(Comparator.reverseOrder());
+        Random random = new Random(24);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                tree = tree.remove(key);
+                expected.remove(key);
+            } else {
+                tree = tree.add(key, i);
+                expected.put(key, i);
+            }
+            if ((i % 500) == 0) {
+                tree.checkBalance();
+            }
+        }
+        
+        tree.checkBalance();
+        Assert.assertEquals(expected.size(), tree.size());
+        Iterator<PersistentBinaryTreeCustom.Node<Integer, Integer>> iterator = tree.iterator();
+        int rank = 0;
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            PersistentBinaryTreeCustom.Node<Integer, Integer> node = iterator.next();
+            Assert.assertEquals(entry.getKey(), node.getKey());
+            Assert.assertEquals(entry.getValue(), node.getValue());
+            Assert.assertEquals(entry.getKey(), tree.select(rank++));
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void sequentialRemoveKeepsBalanceTest() {
+        PersistentBinaryTreeCustom<Integer, Integer> tree = new PersistentBinaryTreeCustom<>();
+        for (int i = 0; i < 4096; i++) {
+            tree = tree.add(i, i);
+        }
+        for (int i = 0; i < 4000; i++) {
+            tree = tree.remove(i);
+            tree.checkBalance();
+        }
+        Assert.assertEquals(96, tree.size());
+        Assert.assertEquals(Integer.valueOf(4000), tree.firstKey());
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void firstKeyException() {
+        new PersistentBinaryTreeCustom<Integer, Integer>().firstKey();
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void iteratorException() {
+        new PersistentBinaryTreeCustom<Integer, Integer>().iterator().next();
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void selectException() {
+        new PersistentBinaryTreeCustom<Integer, Integer>().add(1, 1).select(1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.dubatovka.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+public class UnrolledLinkedListCustomTest {
+    
+    @Test
+    public void addTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>(4);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assert.assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            int actual = list.get(i);
+            Assert.assertEquals(i, actual);
+        }
+    }
+    
+    @Test
+    public void randomAddAndRemoveTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>(4);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 3000; i++) {
+            int action = random.nextInt(4);
+            if (expected.isEmpty() || (action < 2)) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else if (action == 2) {
+                list.addFirst(i);
+                expected.add(0, i);
+            } else {
+                int index = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        
+        Assert.assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), list.get(i));
+        }
+    }
+    
+    @Test
+    public void listIteratorTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>(4);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        
+        ListIterator<Integer> actualIterator = list.listIterator(0);
+        ListIterator<Integer> expectedIterator = expected.listIterator(0);
+        while (expectedIterator.hasNext()) {
+            int value = expectedIterator.next();
+            Assert.assertEquals(Integer.valueOf(value), actualIterator.next());
+            if ((value % 3) == 0) {
+                expectedIterator.remove();
+                actualIterator.remove();
+            } else if ((value % 5) == 0) {
+                expectedIterator.add(-value);
+                actualIterator.add(-value);
+            } else if ((value % 7) == 0) {
+                expectedIterator.set(value * 10);
+                actualIterator.set(value * 10);
+            }
+            Assert.assertEquals(expectedIterator.nextIndex(), actualIterator.nextIndex());
+        }
+        while (expectedIterator.hasPrevious()) {
+            int value = expectedIterator.previous();
+            Assert.assertEquals(Integer.valueOf(value), actualIterator.previous());
+            if ((value % 4) == 0) {
+                expectedIterator.remove();
+                actualIterator.remove();
+            }
+        }
+        Assert.assertFalse(actualIterator.hasPrevious());
+        
+        Assert.assertEquals(expected.size(), list.size());
+        Iterator<Integer> iterator = list.iterator();
+        for (Integer value : expected) {
+            Assert.assertEquals(value, iterator.next());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+    
+    @Test
+    public void iteratorRemoveTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        
+        Assert.assertEquals(0, list.size());
+    }
+    
+    @Test
+    public void setTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        list.set(0, 10);
+        int actualInt = list.get(0);
+        Assert.assertEquals(10, actualInt);
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void addConcurrentModificationExceptionTest() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>();
+        list.add(1);
+        list.add(2);
+        
+        Iterator<Integer> iterator = list.iterator();
+        list.add(3);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getException() {
+        UnrolledLinkedListCustom<Integer> list = new UnrolledLinkedListCustom<>();
+        list.add(1);
+        list.add(2);
+        list.get(11);
+    }
+}